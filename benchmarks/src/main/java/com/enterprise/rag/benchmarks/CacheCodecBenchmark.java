@@ -0,0 +1,179 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.Texts;
+import com.enterprise.rag.config.BinaryRedisSerializer;
+import com.enterprise.rag.dto.ChatResponse;
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis cache value codecs: {@link BinaryRedisSerializer} against the JSON serializer and,
+ * for vectors (the DTOs are not {@code Serializable}), Spring Data Redis' default JDK
+ * serialization. Encoded sizes are printed once per trial.
+ *
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar CacheCodecBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+  static final int EMBEDDING_DIMENSIONS = 1536;
+
+  /**
+   * A codec and one cached value, encoded up front for the read benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class Codecs {
+
+    @Param({"binary", "json"})
+    public String codec;
+
+    @Param({"chatResponse", "retrievedChunks", "embedding"})
+    public String payload;
+
+    RedisSerializer<Object> serializer;
+    Object value;
+    byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      serializer = serializer(codec);
+      value = payload(payload);
+      encoded = serializer.serialize(value);
+      System.out.printf("%n%s/%s: %d bytes%n", codec, payload, encoded.length);
+    }
+  }
+
+  /**
+   * JDK serialization of a vector, Spring Data Redis' default codec.
+   */
+  @State(Scope.Benchmark)
+  public static class JdkEmbedding {
+
+    RedisSerializer<Object> serializer;
+    Object value;
+    byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      serializer = serializer("jdk");
+      value = payload("embedding");
+      encoded = serializer.serialize(value);
+      System.out.printf("%njdk/embedding: %d bytes%n", encoded.length);
+    }
+  }
+
+  @Benchmark
+  public byte[] serialize(Codecs state) {
+    return state.serializer.serialize(state.value);
+  }
+
+  @Benchmark
+  public Object deserialize(Codecs state) {
+    return state.serializer.deserialize(state.encoded);
+  }
+
+  @Benchmark
+  public byte[] serializeEmbeddingJdk(JdkEmbedding state) {
+    return state.serializer.serialize(state.value);
+  }
+
+  @Benchmark
+  public Object deserializeEmbeddingJdk(JdkEmbedding state) {
+    return state.serializer.deserialize(state.encoded);
+  }
+
+  static RedisSerializer<Object> serializer(String codec) {
+    return switch (codec) {
+      case "binary" -> new BinaryRedisSerializer(1024);
+      case "json" -> new GenericJackson2JsonRedisSerializer()
+          .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+      case "jdk" -> new JdkSerializationRedisSerializer();
+      default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+    };
+  }
+
+  static Object payload(String payload) {
+    Random random = new Random(42);
+    return switch (payload) {
+      case "chatResponse" -> chatResponse(random);
+      case "retrievedChunks" -> retrievedChunks(random, 10);
+      case "embedding" -> embedding(random);
+      default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+    };
+  }
+
+  private static ChatResponse chatResponse(Random random) {
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("agentType", "rag");
+    metadata.put("retrievedChunks", 5);
+    metadata.put("latencyMs", 412L);
+    List<String> sources = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      sources.add(UUID.randomUUID().toString());
+    }
+    return ChatResponse.builder()
+        .answer(Texts.words(random, 1200))
+        .sessionId(UUID.randomUUID().toString())
+        .conversationId(UUID.randomUUID().toString())
+        .sources(sources)
+        .metadata(metadata)
+        .tokensUsed(350)
+        .timestamp(LocalDateTime.now())
+        .model("gpt-4")
+        .conversationTitle("Quarterly revenue questions")
+        .build();
+  }
+
+  private static List<RetrievedChunk> retrievedChunks(Random random, int count) {
+    List<RetrievedChunk> chunks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      chunks.add(RetrievedChunk.builder()
+          .chunkId(UUID.randomUUID())
+          .documentId(UUID.randomUUID())
+          .chunkIndex(i)
+          .content(Texts.words(random, 800))
+          .tokenCount(200)
+          .score(random.nextDouble())
+          .build());
+    }
+    return chunks;
+  }
+
+  private static float[] embedding(Random random) {
+    float[] vector = new float[EMBEDDING_DIMENSIONS];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) random.nextGaussian() / 40f;
+    }
+    return vector;
+  }
+}
@@ -0,0 +1,101 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.Texts;
+import com.enterprise.rag.dto.ChatRequest;
+import com.enterprise.rag.dto.ChatResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON reading of {@link ChatRequest} and writing of {@link ChatResponse} bodies, with an
+ * {@link ObjectMapper} configured as Spring Boot configures the MVC one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatJsonBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ChatRequest request;
+  private ChatResponse response;
+  private byte[] requestJson;
+  private byte[] responseJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    Random random = new Random(5);
+
+    request = ChatRequest.builder()
+        .query(Texts.words(random, 300))
+        .sessionId(UUID.randomUUID().toString())
+        .userId("user-1")
+        .build();
+
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("conversationId", UUID.randomUUID().toString());
+    metadata.put("messageCount", 12);
+    metadata.put("totalTokens", 4200L);
+    metadata.put("lastMessageAt", LocalDateTime.now());
+    metadata.put("createdAt", LocalDateTime.now().minusHours(1));
+    metadata.put("processingTimeMs", 412L);
+    metadata.put("processingTimeSeconds", 0.412);
+    response = ChatResponse.builder()
+        .answer(Texts.words(random, 1500))
+        .sessionId(request.getSessionId())
+        .conversationId(UUID.randomUUID().toString())
+        .sources(List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()))
+        .metadata(metadata)
+        .tokensUsed(380)
+        .timestamp(LocalDateTime.now())
+        .model("gpt-4")
+        .build();
+
+    requestJson = objectMapper.writeValueAsBytes(request);
+    responseJson = objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public ChatRequest readRequest() throws IOException {
+    return objectMapper.readValue(requestJson, ChatRequest.class);
+  }
+
+  @Benchmark
+  public byte[] writeRequest() throws IOException {
+    return objectMapper.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() throws IOException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public ChatResponse readResponse() throws IOException {
+    return objectMapper.readValue(responseJson, ChatResponse.class);
+  }
+}
@@ -0,0 +1,61 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.ChatPipelineFixture;
+import com.enterprise.rag.dto.ChatRequest;
+import com.enterprise.rag.dto.ChatResponse;
+import com.enterprise.rag.service.ChatService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full {@link ChatService#chat} path over in-memory repositories
+ * ({@link ChatPipelineFixture}): validation, conversation lookup, two message saves,
+ * retrieval, context packing, mock generation and response assembly.
+ *
+ * <p>With the query caches on, repeated queries measure the cache-hit path; off, every request
+ * embeds, packs and generates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatPathBenchmark {
+
+  @Param({"true", "false"})
+  public boolean queryCaches;
+
+  @Param({"20"})
+  public int candidates;
+
+  private ChatService chatService;
+  private ChatRequest request;
+
+  @Setup
+  public void setUp() {
+    ChatPipelineFixture fixture = new ChatPipelineFixture(candidates, queryCaches);
+    chatService = fixture.chatService();
+    request = ChatRequest.builder()
+        .query("How does retrieval-augmented generation reduce hallucinations?")
+        .sessionId(fixture.conversationId().toString())
+        .userId("benchmark")
+        .build();
+  }
+
+  @Benchmark
+  public ChatResponse chat() {
+    return chatService.chat(request);
+  }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.Texts;
+import com.enterprise.rag.util.TokenUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token estimation as done by {@code ChatService.estimateTokens}: once per saved message and
+ * once over query and answer for the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenEstimationBenchmark {
+
+  /**
+   * Characters in the query; the answer is four times as long.
+   */
+  @Param({"50", "1000", "4000"})
+  public int queryLength;
+
+  private String query;
+  private String answer;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    query = Texts.words(random, queryLength);
+    answer = Texts.words(random, queryLength * 4);
+  }
+
+  @Benchmark
+  public int query() {
+    return TokenUtils.estimateTokens(query);
+  }
+
+  @Benchmark
+  public int queryAndAnswer() {
+    return TokenUtils.estimateTokens(query, answer);
+  }
+}
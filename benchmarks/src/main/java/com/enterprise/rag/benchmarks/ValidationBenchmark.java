@@ -0,0 +1,68 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.Texts;
+import com.enterprise.rag.dto.ChatRequest;
+import com.enterprise.rag.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidationUtils} checks run on every chat request, individually and in the sequence
+ * {@code ChatService} applies them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+  private ChatRequest request;
+  private String sessionId;
+
+  @Setup
+  public void setUp() {
+    sessionId = UUID.randomUUID().toString();
+    request = ChatRequest.builder()
+        .query(Texts.words(new Random(3), 400))
+        .sessionId(sessionId)
+        .userId("user-1")
+        .build();
+  }
+
+  @Benchmark
+  public ChatRequest chatRequest() {
+    ValidationUtils.requireNonNull(request, "request");
+    ValidationUtils.requireNonEmpty(request.getQuery(), "query");
+    ValidationUtils.requireNonEmpty(request.getSessionId(), "sessionId");
+    ValidationUtils.validateStringLength(request.getQuery(), "query", 4000);
+    ValidationUtils.validateTemperature(request.getTemperature());
+    ValidationUtils.validateTokenCount(request.getMaxTokens());
+    return request;
+  }
+
+  @Benchmark
+  public String requireNonEmpty() {
+    ValidationUtils.requireNonEmpty(request.getQuery(), "query");
+    return request.getQuery();
+  }
+
+  @Benchmark
+  public String validateUuid() {
+    ValidationUtils.validateUuid(sessionId, "sessionId");
+    return sessionId;
+  }
+}
@@ -0,0 +1,138 @@
+package com.enterprise.rag.benchmarks;
+
+import com.enterprise.rag.benchmarks.support.Stubs;
+import com.enterprise.rag.benchmarks.support.Texts;
+import com.enterprise.rag.domain.VectorType;
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.enterprise.rag.service.ContextPacker;
+import com.enterprise.rag.service.PromptBuilder;
+import com.enterprise.rag.service.RetrievalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-query vector and relevance work in the JVM.
+ *
+ * <ul>
+ *   <li>{@code cosineScores}: cosine similarity of a query against the candidate embeddings,
+ *       the scoring pgvector does in the database, as a baseline for in-process re-scoring.</li>
+ *   <li>{@code formatQueryVector} / {@code parseVector}: the pgvector text literal every search
+ *       binds and every loaded embedding is parsed from ({@link VectorType}).</li>
+ *   <li>{@code packContext}: MMR re-scoring and knapsack selection of the retrieved candidates
+ *       ({@link ContextPacker}).</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VectorScoringBenchmark {
+
+  /**
+   * Retrieved candidates, as {@code app.rag.candidate-k}.
+   */
+  @Param({"20", "100"})
+  public int candidates;
+
+  private float[] query;
+  private float[][] embeddings;
+  private String queryLiteral;
+  private ContextPacker contextPacker;
+  private List<RetrievedChunk> retrieved;
+  private int budget;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(11);
+    query = randomVector(random);
+    embeddings = new float[candidates][];
+    for (int i = 0; i < candidates; i++) {
+      embeddings[i] = randomVector(random);
+    }
+    queryLiteral = VectorType.toLiteral(query);
+
+    PromptBuilder promptBuilder = new PromptBuilder(new ObjectMapper(), new SimpleMeterRegistry(),
+        "gpt-4", "You are Agentic-RAG, an enterprise assistant.", 10000, false, List.of());
+    contextPacker = new ContextPacker(promptBuilder);
+    Stubs.inject(contextPacker, "contextWindow", 8192);
+    Stubs.inject(contextPacker, "maxContextTokens", 4000);
+    Stubs.inject(contextPacker, "mmrLambda", 0.7);
+
+    UUID documentId = UUID.randomUUID();
+    retrieved = new ArrayList<>(candidates);
+    for (int i = 0; i < candidates; i++) {
+      retrieved.add(RetrievedChunk.builder()
+          .chunkId(UUID.randomUUID())
+          .documentId(documentId)
+          .chunkIndex(i)
+          .content(Texts.words(random, 600))
+          .tokenCount(150)
+          .score(0.9 - i * 0.005)
+          .build());
+    }
+    budget = contextPacker.remainingBudget(Texts.words(random, 200), 1000);
+  }
+
+  @Benchmark
+  public double[] cosineScores() {
+    double[] scores = new double[embeddings.length];
+    for (int i = 0; i < embeddings.length; i++) {
+      scores[i] = cosine(query, embeddings[i]);
+    }
+    return scores;
+  }
+
+  @Benchmark
+  public String formatQueryVector() {
+    return VectorType.toLiteral(query);
+  }
+
+  @Benchmark
+  public float[] parseVector() {
+    return VectorType.fromLiteral(queryLiteral);
+  }
+
+  @Benchmark
+  public List<RetrievedChunk> packContext() {
+    return contextPacker.pack(retrieved, budget);
+  }
+
+  static double cosine(float[] a, float[] b) {
+    double dot = 0;
+    double normA = 0;
+    double normB = 0;
+    for (int i = 0; i < a.length; i++) {
+      dot += a[i] * b[i];
+      normA += a[i] * a[i];
+      normB += b[i] * b[i];
+    }
+    return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+  }
+
+  private static float[] randomVector(Random random) {
+    float[] vector = new float[RetrievalService.EMBEDDING_DIMENSIONS];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) random.nextGaussian() / 40f;
+    }
+    return vector;
+  }
+}
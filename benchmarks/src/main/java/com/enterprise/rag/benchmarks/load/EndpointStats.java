@@ -0,0 +1,142 @@
+package com.enterprise.rag.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome statistics of one endpoint, in microseconds.
+ *
+ * <p>Two latencies are recorded per request. Response time runs from when the request was
+ * due to be sent and is corrected for coordinated omission; service time runs from when it
+ * was actually sent. In open-loop and paced closed-loop runs the due time is the schedule's.
+ * In unpaced closed-loop runs it is not known, so response times are back-filled with
+ * {@link Recorder#recordValueWithExpectedInterval} instead. Interval histograms are appended
+ * to HdrHistogram logs, one per latency, for plotting over time.
+ */
+final class EndpointStats {
+
+  private final String endpoint;
+  private final Recorder response = new Recorder(3);
+  private final Recorder service = new Recorder(3);
+  private final Histogram responseTotal = new Histogram(3);
+  private final Histogram serviceTotal = new Histogram(3);
+  private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+  private final LongAdder errors = new LongAdder();
+  private HistogramLogWriter responseLog;
+  private HistogramLogWriter serviceLog;
+  private Histogram responseInterval;
+  private Histogram serviceInterval;
+
+  EndpointStats(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  String endpoint() {
+    return endpoint;
+  }
+
+  /**
+   * Record a completed request.
+   *
+   * @param responseMicros time since the request was due
+   * @param serviceMicros time since the request was sent
+   * @param expectedIntervalMicros for unpaced closed loops, the expected interval used to
+   *     back-fill omitted samples; 0 when response time already starts at the due time
+   * @param outcome {@code 2xx}, {@code 5xx}, {@code timeout}, ...
+   * @param error whether the request failed
+   */
+  void record(long responseMicros, long serviceMicros, long expectedIntervalMicros,
+              String outcome, boolean error) {
+    if (expectedIntervalMicros > 0) {
+      response.recordValueWithExpectedInterval(responseMicros, expectedIntervalMicros);
+    } else {
+      response.recordValue(responseMicros);
+    }
+    service.recordValue(serviceMicros);
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    if (error) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * Start writing interval logs to {@code <directory>/<name>.response.hlog} and
+   * {@code .service.hlog}.
+   */
+  synchronized void openLogs(Path directory, String name, long startTimeMillis)
+      throws FileNotFoundException {
+    responseLog = new HistogramLogWriter(directory.resolve(name + ".response.hlog").toFile());
+    serviceLog = new HistogramLogWriter(directory.resolve(name + ".service.hlog").toFile());
+    for (HistogramLogWriter log : new HistogramLogWriter[] {responseLog, serviceLog}) {
+      log.outputLogFormatVersion();
+      log.outputComment("endpoint: " + endpoint + ", values in microseconds");
+      log.outputStartTime(startTimeMillis);
+      log.setBaseTime(startTimeMillis);
+      log.outputLegend();
+    }
+  }
+
+  /**
+   * Move recorded values into the totals and append them to the logs.
+   */
+  synchronized void flushInterval() {
+    responseInterval = response.getIntervalHistogram(responseInterval);
+    serviceInterval = service.getIntervalHistogram(serviceInterval);
+    responseTotal.add(responseInterval);
+    serviceTotal.add(serviceInterval);
+    if (responseLog != null && responseInterval.getTotalCount() > 0) {
+      responseLog.outputIntervalHistogram(responseInterval);
+      serviceLog.outputIntervalHistogram(serviceInterval);
+    }
+  }
+
+  /**
+   * Drop everything recorded so far, at the end of the warm-up.
+   */
+  synchronized void reset() {
+    response.reset();
+    service.reset();
+    responseTotal.reset();
+    serviceTotal.reset();
+    outcomes.clear();
+    errors.reset();
+  }
+
+  synchronized void closeLogs() {
+    if (responseLog != null) {
+      responseLog.close();
+      serviceLog.close();
+    }
+  }
+
+  Histogram responseTotal() {
+    return responseTotal;
+  }
+
+  Histogram serviceTotal() {
+    return serviceTotal;
+  }
+
+  long requests() {
+    return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  long errors() {
+    return errors.sum();
+  }
+
+  Map<String, Long> outcomes() {
+    Map<String, Long> counts = new TreeMap<>();
+    outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+    return counts;
+  }
+}
@@ -0,0 +1,381 @@
+package com.enterprise.rag.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a JSON-lines request file against a running instance and reports latency
+ * percentiles and error rates per endpoint.
+ *
+ * <p>Open-loop runs send requests at a constant rate regardless of how fast responses come
+ * back, the way independent users arrive. Closed-loop runs keep a fixed number of users each
+ * sending its next request when the previous one completes, optionally paced to a total rate.
+ * In both cases latency is measured from when a request was due rather than when it was
+ * sent, so a stalled server is charged for the requests it held back (coordinated omission).
+ *
+ * <p>Writes to the output directory, per endpoint, an HdrHistogram interval log
+ * ({@code .hlog}, one histogram per second) and a percentile distribution ({@code .hgrm},
+ * milliseconds) of response and of service time, plus {@code summary.json}.
+ *
+ * <p>Run with {@code scripts/run-load-test.sh}; see {@link LoadOptions} for the options.
+ */
+public final class LoadGenerator {
+
+  private static final long FLUSH_INTERVAL_MILLIS = 1000;
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final LoadOptions options;
+  private final List<ReplayRequest> requests;
+  private final ObjectMapper objectMapper;
+  private final HttpClient client;
+  private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+  private final Map<String, Long> expectedIntervals = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private String target;
+
+  LoadGenerator(LoadOptions options, List<ReplayRequest> requests, ObjectMapper objectMapper) {
+    this.options = options;
+    this.requests = requests;
+    this.objectMapper = objectMapper;
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(options.timeout())
+        .build();
+    this.target = options.target();
+    for (ReplayRequest request : requests) {
+      stats.computeIfAbsent(request.endpoint(), EndpointStats::new);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadOptions options;
+    try {
+      options = LoadOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    List<ReplayRequest> requests = ReplayRequest.load(options.requests(), objectMapper);
+    Files.createDirectories(options.output());
+
+    LoadGenerator generator = new LoadGenerator(options, requests, objectMapper);
+    if (!options.stack()) {
+      generator.run();
+      return;
+    }
+    int port = URI.create(options.target()).getPort();
+    try (LoadTestStack stack = new LoadTestStack(Path.of("").toAbsolutePath(), port)) {
+      System.out.println("Starting Postgres, Redis, llm-mock, cloud-mock and the application...");
+      generator.target = stack.start(options.appJar(), options.output().resolve("application.log"));
+      generator.run();
+    }
+  }
+
+  /**
+   * Warm up, run the measured load, then write the results.
+   */
+  void run() throws IOException, InterruptedException {
+    System.out.printf(Locale.ROOT, "%s-loop run against %s: %d requests in %s, %s warm-up, %s%n",
+        options.mode(), target, requests.size(), options.requests(), options.warmup(),
+        options.duration());
+
+    long start = System.nanoTime();
+    long measureStart = start + options.warmup().toNanos();
+    long end = measureStart + options.duration().toNanos();
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "load-stats");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+    scheduler.schedule(this::startMeasuring, measureStart - start, TimeUnit.NANOSECONDS);
+    try {
+      if (LoadOptions.OPEN.equals(options.mode())) {
+        runOpenLoop(start, end);
+      } else {
+        runClosedLoop(start, end);
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+
+    flush();
+    stats.values().forEach(EndpointStats::closeLogs);
+    report();
+  }
+
+  /**
+   * Send at a constant rate. Each request is due at {@code start + i / rate}; when the server
+   * falls behind and {@code concurrency} requests are outstanding, sending waits, and the wait
+   * counts towards the response time of the requests that were held back.
+   */
+  private void runOpenLoop(long start, long end) throws InterruptedException {
+    double intervalNanos = 1e9 / options.rate();
+    Semaphore inFlight = new Semaphore(options.concurrency());
+    for (long i = 0; ; i++) {
+      long due = start + (long) (i * intervalNanos);
+      if (due >= end) {
+        break;
+      }
+      parkUntil(due);
+      inFlight.acquire();
+      ReplayRequest request = next();
+      long sent = System.nanoTime();
+      client.sendAsync(httpRequest(request), HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, failure) -> {
+            inFlight.release();
+            record(request, due, sent, response, failure, 0);
+          });
+    }
+    drain(inFlight, options.concurrency());
+  }
+
+  /**
+   * Keep {@code concurrency} users busy. With a rate, each user sends on its own fixed
+   * schedule and latency runs from the scheduled time. Without one, each request is due
+   * when the previous one completes and omitted samples are back-filled from the expected
+   * interval instead.
+   */
+  private void runClosedLoop(long start, long end) throws InterruptedException {
+    int users = options.concurrency();
+    double userIntervalNanos = options.rate() > 0 ? 1e9 * users / options.rate() : 0;
+    List<Thread> threads = new ArrayList<>();
+    for (int user = 0; user < users; user++) {
+      long offset = (long) (userIntervalNanos * user / users);
+      Thread thread = new Thread(() -> {
+        for (long i = 0; ; i++) {
+          long due = userIntervalNanos > 0 ? start + offset + (long) (i * userIntervalNanos)
+              : System.nanoTime();
+          if (due >= end) {
+            return;
+          }
+          parkUntil(due);
+          ReplayRequest request = next();
+          long sent = System.nanoTime();
+          try {
+            HttpResponse<Void> response =
+                client.send(httpRequest(request), HttpResponse.BodyHandlers.discarding());
+            record(request, due, sent, response, null, expectedInterval(request));
+          } catch (IOException e) {
+            record(request, due, sent, null, e, expectedInterval(request));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }, "load-user-" + user);
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  private long expectedInterval(ReplayRequest request) {
+    if (options.rate() > 0) {
+      return 0;
+    }
+    if (!options.expectedInterval().isZero()) {
+      return TimeUnit.NANOSECONDS.toMicros(options.expectedInterval().toNanos());
+    }
+    return expectedIntervals.getOrDefault(request.endpoint(), 0L);
+  }
+
+  private ReplayRequest next() {
+    long n = sequence.getAndIncrement();
+    ReplayRequest request = requests.get((int) (n % requests.size()));
+    if (!request.needsSession()) {
+      return request;
+    }
+    ObjectNode body = request.body().deepCopy();
+    body.put("sessionId", "load-" + runId + "-" + n);
+    return new ReplayRequest(request.method(), request.path(), body, request.endpoint());
+  }
+
+  private HttpRequest httpRequest(ReplayRequest request) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + request.path()))
+        .timeout(options.timeout())
+        .header("Accept", "application/json");
+    if (request.body() == null) {
+      return builder.method(request.method(), HttpRequest.BodyPublishers.noBody()).build();
+    }
+    try {
+      return builder.header("Content-Type", "application/json")
+          .method(request.method(), HttpRequest.BodyPublishers.ofByteArray(
+              objectMapper.writeValueAsBytes(request.body())))
+          .build();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot serialize request body", e);
+    }
+  }
+
+  private void record(ReplayRequest request, long due, long sent, HttpResponse<?> response,
+                      Throwable failure, long expectedIntervalMicros) {
+    long now = System.nanoTime();
+    String outcome;
+    if (failure != null) {
+      Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+          ? failure.getCause() : failure;
+      outcome = cause instanceof HttpTimeoutException ? "timeout" : "io";
+    } else {
+      outcome = response.statusCode() / 100 + "xx";
+    }
+    boolean error = failure != null || response.statusCode() >= 400;
+    stats.get(request.endpoint()).record(TimeUnit.NANOSECONDS.toMicros(now - due),
+        TimeUnit.NANOSECONDS.toMicros(now - sent), expectedIntervalMicros, outcome, error);
+  }
+
+  private void flush() {
+    stats.values().forEach(EndpointStats::flushInterval);
+  }
+
+  /**
+   * End of warm-up: take expected intervals from the warm-up's mean service times, drop what
+   * was recorded and start the interval logs.
+   */
+  private void startMeasuring() {
+    long startMillis = System.currentTimeMillis();
+    for (EndpointStats endpoint : stats.values()) {
+      endpoint.flushInterval();
+      if (endpoint.serviceTotal().getTotalCount() > 0) {
+        expectedIntervals.put(endpoint.endpoint(), (long) endpoint.serviceTotal().getMean());
+      }
+      endpoint.reset();
+      try {
+        endpoint.openLogs(options.output(), fileName(endpoint.endpoint()), startMillis);
+      } catch (IOException e) {
+        System.err.println("Cannot write histogram log: " + e.getMessage());
+      }
+    }
+    System.out.println("Warm-up done, measuring...");
+  }
+
+  private void report() throws IOException {
+    double seconds = options.duration().toNanos() / 1e9;
+    Map<String, Object> endpoints = new LinkedHashMap<>();
+    PrintStream out = System.out;
+    out.println();
+    out.printf(Locale.ROOT, "%-36s %9s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests",
+        "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+    for (EndpointStats endpoint : stats.values()) {
+      long requestCount = endpoint.requests();
+      if (requestCount == 0) {
+        continue;
+      }
+      Histogram response = endpoint.responseTotal();
+      Histogram service = endpoint.serviceTotal();
+      writeDistribution(response, fileName(endpoint.endpoint()) + ".response.hgrm");
+      writeDistribution(service, fileName(endpoint.endpoint()) + ".service.hgrm");
+
+      double errorRate = (double) endpoint.errors() / requestCount;
+      Map<String, Object> summary = new LinkedHashMap<>();
+      summary.put("requests", requestCount);
+      summary.put("throughputPerSecond", requestCount / seconds);
+      summary.put("errors", endpoint.errors());
+      summary.put("errorRate", errorRate);
+      summary.put("outcomes", endpoint.outcomes());
+      summary.put("responseTimeMs", percentiles(response));
+      summary.put("serviceTimeMs", percentiles(service));
+      endpoints.put(endpoint.endpoint(), summary);
+
+      out.printf(Locale.ROOT, "%-36s %9d %8.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+          endpoint.endpoint(), requestCount, requestCount / seconds, errorRate * 100,
+          millis(response.getValueAtPercentile(50)), millis(response.getValueAtPercentile(90)),
+          millis(response.getValueAtPercentile(99)), millis(response.getValueAtPercentile(99.9)),
+          millis(response.getMaxValue()));
+    }
+
+    Map<String, Object> run = new LinkedHashMap<>();
+    run.put("target", target);
+    run.put("mode", options.mode());
+    run.put("rate", options.rate());
+    run.put("concurrency", options.concurrency());
+    run.put("durationSeconds", seconds);
+    run.put("warmupSeconds", options.warmup().toNanos() / 1e9);
+    run.put("endpoints", endpoints);
+    Path summaryFile = options.output().resolve("summary.json");
+    objectMapper.writeValue(summaryFile.toFile(), run);
+    out.println();
+    out.println("Response time is measured from when each request was due (corrected for "
+        + "coordinated omission).");
+    out.println("Histograms and summary written to " + options.output());
+  }
+
+  private void writeDistribution(Histogram histogram, String name) throws IOException {
+    try (PrintStream out = new PrintStream(
+        Files.newOutputStream(options.output().resolve(name)), false, "UTF-8")) {
+      histogram.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  private static Map<String, Double> percentiles(Histogram histogram) {
+    Map<String, Double> values = new LinkedHashMap<>();
+    for (double percentile : PERCENTILES) {
+      values.put("p" + (percentile == (long) percentile
+          ? Long.toString((long) percentile) : Double.toString(percentile)),
+          millis(histogram.getValueAtPercentile(percentile)));
+    }
+    values.put("max", millis(histogram.getMaxValue()));
+    values.put("mean", histogram.getMean() / 1000.0);
+    return values;
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  /**
+   * File name for an endpoint, e.g. {@code post-api-chat} for {@code POST /api/chat}.
+   */
+  static String fileName(String endpoint) {
+    return endpoint.toLowerCase(Locale.ROOT)
+        .replaceAll("[^a-z0-9]+", "-")
+        .replaceAll("^-|-$", "");
+  }
+
+  private static void parkUntil(long deadline) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  private void drain(Semaphore inFlight, int permits) throws InterruptedException {
+    if (!inFlight.tryAcquire(permits, options.timeout().toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+      System.err.println("Some requests were still in flight after the timeout");
+    }
+  }
+}
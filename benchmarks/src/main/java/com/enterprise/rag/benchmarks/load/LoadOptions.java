@@ -0,0 +1,116 @@
+package com.enterprise.rag.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line options of {@link LoadGenerator}, given as {@code --name=value}.
+ *
+ * @param target base URL of the instance under test
+ * @param requests JSON-lines file of requests to replay
+ * @param mode {@code open} (constant arrival rate) or {@code closed} (fixed number of users)
+ * @param rate requests per second; required for open loops, optional pacing for closed loops
+ * @param concurrency closed loop: number of users; open loop: maximum requests in flight
+ * @param duration measured run length
+ * @param warmup unmeasured run before it
+ * @param timeout per-request timeout
+ * @param expectedInterval unpaced closed loops: interval used for coordinated omission
+ *     correction; zero means the mean service time measured during warm-up
+ * @param output directory for histogram logs and the summary
+ * @param stack start Postgres, Redis, llm-mock and cloud-mock with Testcontainers and the
+ *     application jar, instead of using {@code target}
+ * @param appJar application jar started with {@code stack}
+ */
+public record LoadOptions(String target, Path requests, String mode, double rate, int concurrency,
+                          Duration duration, Duration warmup, Duration timeout,
+                          Duration expectedInterval, Path output, boolean stack, Path appJar) {
+
+  static final String OPEN = "open";
+  static final String CLOSED = "closed";
+
+  private static final Set<String> NAMES = Set.of("target", "requests", "mode", "rate",
+      "concurrency", "duration", "warmup", "timeout", "expected-interval", "output", "stack",
+      "app-jar");
+
+  static final String USAGE = """
+      Usage: LoadGenerator [--name=value ...]
+        --target=http://localhost:8090   instance under test
+        --requests=benchmarks/load/requests.jsonl
+        --mode=closed                    open | closed
+        --rate=0                         requests/s (open: required; closed: pacing, 0 = none)
+        --concurrency=16                 closed: users; open: max in flight (default 1000)
+        --duration=60s --warmup=10s --timeout=30s
+        --expected-interval=0            closed, unpaced: CO correction interval (0 = measured)
+        --output=target/load
+        --stack=false                    start Testcontainers Postgres/Redis, mocks and the app
+        --app-jar=target/agentic-rag.jar
+      """;
+
+  /**
+   * Parse {@code --name=value} arguments over the defaults.
+   *
+   * @param args command-line arguments
+   * @return the options
+   * @throws IllegalArgumentException on unknown or invalid options
+   */
+  public static LoadOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      String name = arg.startsWith("--") ? arg.substring(2, equals > 0 ? equals : arg.length()) : "";
+      if (!NAMES.contains(name)) {
+        throw new IllegalArgumentException("Unknown option: " + arg);
+      }
+      values.put(name, equals > 0 ? arg.substring(equals + 1) : "true");
+    }
+
+    LoadOptions options = new LoadOptions(
+        values.getOrDefault("target", "http://localhost:8090"),
+        Path.of(values.getOrDefault("requests", "benchmarks/load/requests.jsonl")),
+        values.getOrDefault("mode", CLOSED),
+        Double.parseDouble(values.getOrDefault("rate", "0")),
+        Integer.parseInt(values.getOrDefault("concurrency",
+            OPEN.equals(values.get("mode")) ? "1000" : "16")),
+        duration(values.getOrDefault("duration", "60s")),
+        duration(values.getOrDefault("warmup", "10s")),
+        duration(values.getOrDefault("timeout", "30s")),
+        duration(values.getOrDefault("expected-interval", "0s")),
+        Path.of(values.getOrDefault("output", "target/load")),
+        Boolean.parseBoolean(values.getOrDefault("stack", "false")),
+        Path.of(values.getOrDefault("app-jar", "target/agentic-rag.jar")));
+
+    if (!OPEN.equals(options.mode()) && !CLOSED.equals(options.mode())) {
+      throw new IllegalArgumentException("--mode must be open or closed");
+    }
+    if (OPEN.equals(options.mode()) && options.rate() <= 0) {
+      throw new IllegalArgumentException("--rate is required for open-loop runs");
+    }
+    if (options.concurrency() < 1) {
+      throw new IllegalArgumentException("--concurrency must be positive");
+    }
+    return options;
+  }
+
+  /**
+   * Parse durations like {@code 500ms}, {@code 30s}, {@code 5m} or ISO-8601.
+   */
+  static Duration duration(String value) {
+    String text = value.strip().toLowerCase();
+    if (text.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+    }
+    if (text.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    if (text.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    if (text.matches("\\d+")) {
+      return Duration.ofSeconds(Long.parseLong(text));
+    }
+    return Duration.parse(value);
+  }
+}
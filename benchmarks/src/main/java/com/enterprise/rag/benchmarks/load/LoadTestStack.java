@@ -0,0 +1,141 @@
+package com.enterprise.rag.benchmarks.load;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A disposable instance to load: Postgres with pgvector and Redis from Testcontainers, llm-mock
+ * and cloud-mock built from {@code mocks/}, and the application jar started against them with
+ * LLM calls enabled, so generation goes over HTTP to the mock.
+ */
+final class LoadTestStack implements AutoCloseable {
+
+  private static final int MOCK_PORT = 8080;
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+  private final PostgreSQLContainer<?> postgres;
+  private final GenericContainer<?> redis;
+  private final GenericContainer<?> llmMock;
+  private final GenericContainer<?> cloudMock;
+  private final int port;
+  private Process application;
+
+  /**
+   * @param root repository root, holding {@code mocks/} and {@code docker/init-scripts/}
+   * @param port port to start the application on
+   */
+  @SuppressWarnings("resource")
+  LoadTestStack(Path root, int port) {
+    this.port = port;
+    postgres = new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+        .asCompatibleSubstituteFor("postgres"))
+        .withDatabaseName("ragdb")
+        .withUsername("rag_user")
+        .withPassword("rag_pass")
+        .withCopyFileToContainer(
+            MountableFile.forHostPath(root.resolve("docker/init-scripts/01-init.sql")),
+            "/docker-entrypoint-initdb.d/01-init.sql");
+    redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+    llmMock = mock(root.resolve("mocks/llm-mock"));
+    cloudMock = mock(root.resolve("mocks/cloud-mock"));
+  }
+
+  private static GenericContainer<?> mock(Path context) {
+    return new GenericContainer<>(new ImageFromDockerfile()
+        .withFileFromPath(".", context))
+        .withExposedPorts(MOCK_PORT)
+        .waitingFor(Wait.forHttp("/health").forStatusCode(200));
+  }
+
+  /**
+   * Start the containers, then the application, and wait until it reports ready.
+   *
+   * @param appJar the application jar
+   * @param logFile where the application's output goes
+   * @return base URL of the application
+   */
+  String start(Path appJar, Path logFile) throws IOException, InterruptedException {
+    if (!Files.isRegularFile(appJar)) {
+      throw new IOException(appJar + " not found, build it with mvn package -DskipTests");
+    }
+    List.of(postgres, redis, llmMock, cloudMock).parallelStream().forEach(GenericContainer::start);
+
+    List<String> command = List.of("java", "-jar", appJar.toString(),
+        "--server.port=" + port,
+        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+        "--spring.data.redis.host=" + redis.getHost(),
+        "--spring.data.redis.port=" + redis.getMappedPort(6379),
+        "--llm.enabled=true",
+        "--llm.base-url=" + url(llmMock),
+        "--cloud.base-url=" + url(cloudMock),
+        "--app.warmup.enabled=false");
+    application = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(logFile.toFile())
+        .start();
+
+    String baseUrl = "http://localhost:" + port;
+    awaitReady(baseUrl, logFile);
+    return baseUrl;
+  }
+
+  private static String url(GenericContainer<?> container) {
+    return "http://" + container.getHost() + ":" + container.getMappedPort(MOCK_PORT);
+  }
+
+  private void awaitReady(String baseUrl, Path logFile) throws IOException, InterruptedException {
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+        .timeout(Duration.ofSeconds(2))
+        .build();
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!application.isAlive()) {
+        throw new IOException("Application exited with " + application.exitValue()
+            + ", see " + logFile);
+      }
+      try {
+        HttpResponse<String> response = client.send(readiness, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+          return;
+        }
+      } catch (IOException notYetListening) {
+        // Keep polling until the deadline
+      }
+      Thread.sleep(250);
+    }
+    throw new IOException("Application not ready within " + STARTUP_TIMEOUT + ", see " + logFile);
+  }
+
+  @Override
+  public void close() {
+    if (application != null) {
+      application.destroy();
+      try {
+        if (!application.waitFor(30, TimeUnit.SECONDS)) {
+          application.destroyForcibly();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        application.destroyForcibly();
+      }
+    }
+    List.of(cloudMock, llmMock, redis, postgres).forEach(GenericContainer::stop);
+  }
+}
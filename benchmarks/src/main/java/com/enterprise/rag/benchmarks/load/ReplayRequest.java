@@ -0,0 +1,92 @@
+package com.enterprise.rag.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * One recorded request to replay.
+ *
+ * <p>Request files hold one JSON object per line, either a bare chat request body
+ * ({@code {"query": "..."}}, sent to {@code POST /api/chat}) or an explicit request
+ * ({@code {"method": "GET", "path": "/api/stats/latency"}}, with an optional {@code body}).
+ * Chat requests without a {@code sessionId} get a fresh one per replay, i.e. a new conversation.
+ *
+ * @param method HTTP method
+ * @param path request path, with query string
+ * @param body JSON body, or null
+ * @param endpoint name statistics are grouped under, e.g. {@code POST /api/chat}
+ */
+public record ReplayRequest(String method, String path, ObjectNode body, String endpoint) {
+
+  static final String CHAT_PATH = "/api/chat";
+
+  private static final Pattern ID_SEGMENT = Pattern.compile(
+      "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+  /**
+   * Load requests from a JSON-lines file, skipping blank lines.
+   *
+   * @param file the file
+   * @param objectMapper parser
+   * @return the requests, in file order
+   * @throws IOException if the file cannot be read or a line is not a JSON object
+   */
+  public static List<ReplayRequest> load(Path file, ObjectMapper objectMapper) throws IOException {
+    List<ReplayRequest> requests = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.isObject()) {
+          throw new IOException(file + ":" + lineNumber + " is not a JSON object");
+        }
+        requests.add(of((ObjectNode) node));
+      }
+    }
+    if (requests.isEmpty()) {
+      throw new IOException(file + " holds no requests");
+    }
+    return requests;
+  }
+
+  private static ReplayRequest of(ObjectNode node) {
+    if (!node.has("path")) {
+      return new ReplayRequest("POST", CHAT_PATH, node, "POST " + CHAT_PATH);
+    }
+    ObjectNode body = node.get("body") instanceof ObjectNode object ? object : null;
+    String method = node.path("method").asText(body != null ? "POST" : "GET").toUpperCase();
+    String path = node.get("path").asText();
+    return new ReplayRequest(method, path, body, method + " " + template(path));
+  }
+
+  /**
+   * Group paths differing only in IDs, e.g. {@code /api/conversations/{id}}.
+   */
+  static String template(String path) {
+    int query = path.indexOf('?');
+    String plain = query >= 0 ? path.substring(0, query) : path;
+    return ID_SEGMENT.matcher(plain).replaceAll("/{id}");
+  }
+
+  /**
+   * Whether this is a chat request needing a session ID filled in.
+   */
+  boolean needsSession() {
+    return CHAT_PATH.equals(path) && body != null
+        && (!body.hasNonNull("sessionId") || body.get("sessionId").asText().isBlank());
+  }
+}
@@ -0,0 +1,190 @@
+package com.enterprise.rag.benchmarks.support;
+
+import com.enterprise.rag.config.CacheInvalidationBus;
+import com.enterprise.rag.config.ConcurrencyLimitProperties;
+import com.enterprise.rag.config.HistoryCacheProperties;
+import com.enterprise.rag.config.QueryCacheProperties;
+import com.enterprise.rag.domain.Conversation;
+import com.enterprise.rag.domain.Document;
+import com.enterprise.rag.domain.DocumentChunk;
+import com.enterprise.rag.domain.Message;
+import com.enterprise.rag.repository.ConversationRepository;
+import com.enterprise.rag.repository.DocumentChunkRepository;
+import com.enterprise.rag.repository.EmbeddingRepository;
+import com.enterprise.rag.repository.MessageRepository;
+import com.enterprise.rag.service.ChatService;
+import com.enterprise.rag.service.ChatStageMetrics;
+import com.enterprise.rag.service.ConcurrencyLimiterRegistry;
+import com.enterprise.rag.service.ContextPacker;
+import com.enterprise.rag.service.ConversationHistoryCache;
+import com.enterprise.rag.service.GenerationService;
+import com.enterprise.rag.service.PromptBuilder;
+import com.enterprise.rag.service.QueryResultCache;
+import com.enterprise.rag.service.RequestCoalescer;
+import com.enterprise.rag.service.RetrievalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The real chat pipeline (ChatService, retrieval, context packing, prompt building and mock
+ * generation) wired by hand over in-memory repositories, with Redis-backed caches replaced by
+ * in-process ones and the conversation history cache disabled.
+ *
+ * <p>Similarity search returns a fixed candidate list, so a benchmark measures the
+ * application's own per-request cost rather than a simulated database.
+ */
+public class ChatPipelineFixture {
+
+  private static final String SYSTEM_PROMPT =
+      "You are Agentic-RAG, an enterprise assistant. Answer accurately and concisely, "
+          + "grounding your answer in the provided context when it is relevant.";
+
+  private final Map<UUID, Conversation> conversations = new ConcurrentHashMap<>();
+  private final Map<UUID, DocumentChunk> chunks = new HashMap<>();
+  private final List<Object[]> similarityRows = new ArrayList<>();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ChatService chatService;
+  private final UUID conversationId;
+
+  /**
+   * Build the pipeline.
+   *
+   * @param candidates number of chunks returned by similarity search
+   * @param queryCaches whether the embedding, retrieval and answer caches are enabled
+   */
+  public ChatPipelineFixture(int candidates, boolean queryCaches) {
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    seedChunks(candidates);
+
+    ConversationRepository conversationRepository = Stubs.implement(ConversationRepository.class,
+        Map.of(
+            "findById", args -> Optional.ofNullable(conversations.get((UUID) args[0])),
+            "save", args -> saveConversation((Conversation) args[0]),
+            "recordMessages", args -> 1));
+    MessageRepository messageRepository = Stubs.implement(MessageRepository.class,
+        Map.of("save", args -> saveMessage((Message) args[0])));
+    EmbeddingRepository embeddingRepository = Stubs.implement(EmbeddingRepository.class,
+        Map.of("findSimilarEmbeddingsCosine", args -> similarityRows));
+    DocumentChunkRepository documentChunkRepository = Stubs.implement(DocumentChunkRepository.class,
+        Map.of("findAllById", args -> findChunks((Iterable<?>) args[0])));
+
+    QueryCacheProperties queryCacheProperties = new QueryCacheProperties();
+    queryCacheProperties.setEmbeddings(queryCaches);
+    queryCacheProperties.setRetrieval(queryCaches);
+    queryCacheProperties.setAnswers(queryCaches);
+    QueryResultCache queryResultCache = new QueryResultCache(queryCacheProperties,
+        new ConcurrentMapCacheManager(), meterRegistry);
+    RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true);
+
+    RetrievalService retrievalService = new RetrievalService(embeddingRepository,
+        documentChunkRepository, requestCoalescer, queryResultCache,
+        new ConcurrencyLimiterRegistry(new ConcurrencyLimitProperties(), meterRegistry));
+    Stubs.inject(retrievalService, "embeddingModel", "text-embedding-ada-002");
+    Stubs.inject(retrievalService, "embeddingStorage", RetrievalService.STORAGE_VECTOR);
+
+    PromptBuilder promptBuilder = new PromptBuilder(objectMapper, meterRegistry, "gpt-4",
+        SYSTEM_PROMPT, 10000, false, List.of());
+    ContextPacker contextPacker = new ContextPacker(promptBuilder);
+    Stubs.inject(contextPacker, "contextWindow", 8192);
+    Stubs.inject(contextPacker, "maxContextTokens", 4000);
+    Stubs.inject(contextPacker, "mmrLambda", 0.7);
+
+    GenerationService generationService = new GenerationService(requestCoalescer,
+        queryResultCache, promptBuilder, null);
+    Stubs.inject(generationService, "llmEnabled", false);
+    Stubs.inject(generationService, "llmModel", "gpt-4");
+
+    HistoryCacheProperties historyCacheProperties = new HistoryCacheProperties();
+    historyCacheProperties.setEnabled(false);
+    ConversationHistoryCache historyCache = new ConversationHistoryCache(historyCacheProperties,
+        null, objectMapper, meterRegistry,
+        new CacheInvalidationBus(null, new RedisMessageListenerContainer(), "benchmark"));
+
+    chatService = new ChatService(conversationRepository, messageRepository, retrievalService,
+        generationService, contextPacker, historyCache, null, null,
+        new ChatStageMetrics(meterRegistry, queryResultCache), queryResultCache,
+        new TransactionTemplate(Stubs.implement(PlatformTransactionManager.class, Map.of(
+            "getTransaction", args -> new SimpleTransactionStatus(),
+            "commit", args -> null,
+            "rollback", args -> null))));
+    Stubs.inject(chatService, "retrievalCandidates", candidates);
+
+    conversationId = saveConversation(Conversation.builder()
+        .userId("benchmark")
+        .title("Benchmark conversation")
+        .metadata(new HashMap<>())
+        .build()).getId();
+  }
+
+  public ChatService chatService() {
+    return chatService;
+  }
+
+  /**
+   * ID of a conversation that exists, for requests continuing a conversation.
+   */
+  public UUID conversationId() {
+    return conversationId;
+  }
+
+  private Conversation saveConversation(Conversation conversation) {
+    if (conversation.getId() == null) {
+      conversation.setId(UUID.randomUUID());
+      conversation.setCreatedAt(LocalDateTime.now());
+    }
+    conversations.put(conversation.getId(), conversation);
+    return conversation;
+  }
+
+  private static Message saveMessage(Message message) {
+    if (message.getId() == null) {
+      message.setId(UUID.randomUUID());
+    }
+    return message;
+  }
+
+  private List<DocumentChunk> findChunks(Iterable<?> ids) {
+    List<DocumentChunk> found = new ArrayList<>();
+    for (Object id : ids) {
+      DocumentChunk chunk = chunks.get((UUID) id);
+      if (chunk != null) {
+        found.add(chunk);
+      }
+    }
+    return found;
+  }
+
+  private void seedChunks(int count) {
+    Random random = new Random(7);
+    Document document = Document.builder().id(UUID.randomUUID()).title("Handbook").build();
+    for (int i = 0; i < count; i++) {
+      DocumentChunk chunk = DocumentChunk.builder()
+          .id(UUID.randomUUID())
+          .document(document)
+          .chunkIndex(i)
+          .content(Texts.words(random, 600))
+          .tokenCount(150)
+          .build();
+      chunks.put(chunk.getId(), chunk);
+      // Columns: id, chunk_id, embedding, model_name, created_at, similarity
+      similarityRows.add(new Object[] {UUID.randomUUID(), chunk.getId(), null,
+          "text-embedding-ada-002", null, 0.9 - i * 0.01});
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.enterprise.rag.benchmarks.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal stand-ins for Spring wiring in benchmarks: interface implementations backed by
+ * lambdas, and injection of {@code @Value} fields.
+ */
+public final class Stubs {
+
+  private Stubs() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /**
+   * Implement an interface with the given methods, by name; any other method throws.
+   *
+   * @param type the interface, e.g. a Spring Data repository
+   * @param methods method name to implementation taking the call's arguments
+   * @param <T> the interface type
+   * @return the stand-in
+   */
+  public static <T> T implement(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+    Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (self, method, args) -> {
+          Function<Object[], Object> implementation = methods.get(method.getName());
+          if (implementation != null) {
+            return implementation.apply(args != null ? args : new Object[0]);
+          }
+          return switch (method.getName()) {
+            case "toString" -> "stub " + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(
+                type.getSimpleName() + "." + method.getName() + " is not stubbed");
+          };
+        });
+    return type.cast(proxy);
+  }
+
+  /**
+   * Set a field as Spring would inject it, e.g. an {@code @Value} field.
+   *
+   * @param target the bean
+   * @param name the field name
+   * @param value the value
+   * @param <T> the bean type
+   * @return the bean
+   */
+  public static <T> T inject(T target, String name, Object value) {
+    try {
+      Field field = target.getClass().getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(target, value);
+      return target;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot inject " + name + " into " + target.getClass(), e);
+    }
+  }
+}
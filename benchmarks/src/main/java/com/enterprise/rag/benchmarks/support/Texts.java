@@ -0,0 +1,31 @@
+package com.enterprise.rag.benchmarks.support;
+
+import java.util.Random;
+
+/**
+ * Deterministic filler text for benchmark payloads.
+ */
+public final class Texts {
+
+  private static final String[] WORDS = {"revenue", "the", "quarter", "growth", "of", "customer",
+      "retention", "policy", "and", "report", "increased", "region", "margin", "forecast"};
+
+  private Texts() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /**
+   * Build space-separated words up to about the given length.
+   *
+   * @param random source of word choices
+   * @param length minimum length in characters
+   * @return the text
+   */
+  public static String words(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length + 16);
+    while (sb.length() < length) {
+      sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,19 @@
+#!/bin/bash
+# Start a hot-standby replica of the primary, cloning it with pg_basebackup on first start.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  echo "Waiting for primary ${PRIMARY_HOST}..."
+  until pg_isready -h "$PRIMARY_HOST" -U "$POSTGRES_USER" -d "$POSTGRES_DB"; do
+    sleep 2
+  done
+
+  mkdir -p "$PGDATA"
+  chown postgres:postgres "$PGDATA"
+  chmod 700 "$PGDATA"
+  echo "Cloning primary into $PGDATA..."
+  gosu postgres env PGPASSWORD="$REPLICATION_PASSWORD" \
+    pg_basebackup -h "$PRIMARY_HOST" -U replicator -D "$PGDATA" -R -X stream
+fi
+
+exec docker-entrypoint.sh postgres -c hot_standby=on
@@ -7,6 +7,10 @@ from fastapi.middleware.cors import CORSMiddleware
 from pydantic import BaseModel, Field
 from typing import List, Optional, Dict, Any
 from enum import Enum
+import asyncio
+import json
+import os
+import urllib.request
 import uvicorn
 import uuid
 import time
@@ -44,6 +48,16 @@ class JobRequest(BaseModel):
     name: str = Field(..., description="Job name")
     parameters: Dict[str, Any] = Field(default_factory=dict)
     timeout_seconds: Optional[int] = Field(300, ge=1)
+    # The job completes on its own after this many seconds. When unset,
+    # DEFAULT_SIMULATED_DURATION_SECONDS applies; if that is empty too, the job
+    # advances one state per status poll instead.
+    simulated_duration_seconds: Optional[float] = Field(None, ge=0)
+    # When set, the finished job is POSTed to this URL as JSON
+    callback_url: Optional[str] = None
+
+class BatchStatusRequest(BaseModel):
+    job_ids: List[str] = Field(..., description="Jobs to report on")
+    wait_seconds: Optional[float] = Field(0, ge=0, le=60, description="Long-poll until any job finishes")
 
 class JobResponse(BaseModel):
     job_id: str
@@ -67,6 +81,18 @@ class Resource(BaseModel):
 # In-memory storage
 jobs_db: Dict[str, JobResponse] = {}
 resources_db: Dict[str, Resource] = {}
+# Jobs that progress on a timer, and the condition notified when any job finishes
+timed_jobs: set = set()
+job_finished = asyncio.Condition()
+# Callback URLs of jobs that advance per status poll
+polled_callbacks: Dict[str, str] = {}
+
+# Duration of jobs created without simulated_duration_seconds (clients such as
+# the application never send it); empty means they advance per status poll
+_default_duration = os.environ.get("DEFAULT_SIMULATED_DURATION_SECONDS", "2").strip()
+DEFAULT_SIMULATED_DURATION: Optional[float] = float(_default_duration) if _default_duration else None
+
+TERMINAL_STATUSES = (JobStatus.COMPLETED, JobStatus.FAILED)
 
 # Helper functions
 def generate_job_id() -> str:
@@ -75,6 +101,60 @@ def generate_job_id() -> str:
 def generate_resource_id() -> str:
     return f"res-{uuid.uuid4().hex[:16]}"
 
+def complete_job(job: JobResponse) -> None:
+    job.status = JobStatus.COMPLETED
+    job.completed_at = datetime.utcnow().isoformat()
+    job.result = {
+        "status": "success",
+        "output": f"Mock job {job.name} completed successfully",
+        "metrics": {
+            "duration_seconds": 5,
+            "items_processed": 100
+        }
+    }
+
+def post_callback(url: str, job: JobResponse) -> None:
+    body = json.dumps(job.model_dump(mode="json")).encode("utf-8")
+    req = urllib.request.Request(url, data=body, headers={"Content-Type": "application/json"})
+    try:
+        urllib.request.urlopen(req, timeout=5)
+    except Exception as e:
+        print(f"Callback to {url} for {job.job_id} failed: {e}")
+
+async def notify_finished(job: JobResponse, callback_url: Optional[str]) -> None:
+    """Wake long-pollers and POST the finished job to its callback URL"""
+    async with job_finished:
+        job_finished.notify_all()
+    if callback_url:
+        await asyncio.to_thread(post_callback, callback_url, job)
+
+async def run_timed_job(job_id: str, duration: float, callback_url: Optional[str]) -> None:
+    """Advance a job on a timer and notify long-pollers and the callback URL"""
+    await asyncio.sleep(min(0.05, duration))
+    job = jobs_db.get(job_id)
+    if job is None:
+        return
+    job.status = JobStatus.RUNNING
+    job.started_at = datetime.utcnow().isoformat()
+    await asyncio.sleep(max(0.0, duration - 0.05))
+    job = jobs_db.get(job_id)
+    if job is None:
+        return
+    complete_job(job)
+    await notify_finished(job, callback_url)
+
+async def wait_for_any(job_ids: List[str], wait_seconds: float) -> None:
+    """Long-poll: return when any listed job is terminal or the wait elapses"""
+    def any_done() -> bool:
+        return any(j in jobs_db and jobs_db[j].status in TERMINAL_STATUSES for j in job_ids)
+    if wait_seconds <= 0 or any_done():
+        return
+    try:
+        async with job_finished:
+            await asyncio.wait_for(job_finished.wait_for(any_done), timeout=wait_seconds)
+    except asyncio.TimeoutError:
+        pass
+
 # API Endpoints
 @app.get("/")
 async def root():
@@ -109,35 +189,47 @@ async def create_job(request: JobRequest):
     )
     
     jobs_db[job_id] = job
+    duration = request.simulated_duration_seconds
+    if duration is None:
+        duration = DEFAULT_SIMULATED_DURATION
+    if duration is not None:
+        timed_jobs.add(job_id)
+        asyncio.create_task(run_timed_job(job_id, duration, request.callback_url))
+    elif request.callback_url:
+        polled_callbacks[job_id] = request.callback_url
     return job
 
-@app.get("/api/jobs/{job_id}", response_model=JobResponse)
-async def get_job(job_id: str):
-    """Get job status"""
-    if job_id not in jobs_db:
-        raise HTTPException(status_code=404, detail="Job not found")
-    
-    job = jobs_db[job_id]
-    
-    # Simulate job progression
+@app.post("/api/jobs/status", response_model=List[JobResponse])
+async def batch_job_status(request: BatchStatusRequest):
+    """Get the status of many jobs in one call, optionally long-polling until one finishes"""
+    # Advance poll-driven jobs first, so a long poll returns as soon as one finishes
+    jobs = [await advance_polled_job(jobs_db[j]) for j in request.job_ids if j in jobs_db]
+    await wait_for_any(request.job_ids, request.wait_seconds or 0)
+    return [jobs_db[job.job_id] for job in jobs if job.job_id in jobs_db]
+
+async def advance_polled_job(job: JobResponse) -> JobResponse:
+    """Simulate job progression for jobs without a simulated duration"""
+    if job.job_id in timed_jobs:
+        return job
     if job.status == JobStatus.PENDING:
         job.status = JobStatus.RUNNING
         job.started_at = datetime.utcnow().isoformat()
     elif job.status == JobStatus.RUNNING:
         # Simulate completion after a few checks
-        job.status = JobStatus.COMPLETED
-        job.completed_at = datetime.utcnow().isoformat()
-        job.result = {
-            "status": "success",
-            "output": f"Mock job {job.name} completed successfully",
-            "metrics": {
-                "duration_seconds": 5,
-                "items_processed": 100
-            }
-        }
-    
+        complete_job(job)
+        asyncio.create_task(notify_finished(job, polled_callbacks.pop(job.job_id, None)))
     return job
 
+@app.get("/api/jobs/{job_id}", response_model=JobResponse)
+async def get_job(job_id: str, wait_seconds: float = 0):
+    """Get job status, optionally long-polling up to wait_seconds until it finishes"""
+    if job_id not in jobs_db:
+        raise HTTPException(status_code=404, detail="Job not found")
+
+    job = await advance_polled_job(jobs_db[job_id])
+    await wait_for_any([job_id], min(max(wait_seconds, 0), 60))
+    return jobs_db.get(job_id, job)
+
 @app.get("/api/jobs", response_model=List[JobResponse])
 async def list_jobs(status: Optional[JobStatus] = None, limit: int = 100):
     """List all jobs"""
@@ -152,6 +244,8 @@ async def delete_job(job_id: str):
     if job_id not in jobs_db:
         raise HTTPException(status_code=404, detail="Job not found")
     del jobs_db[job_id]
+    timed_jobs.discard(job_id)
+    polled_callbacks.pop(job_id, None)
     return {"message": f"Job {job_id} deleted"}
 
 # Resource Management
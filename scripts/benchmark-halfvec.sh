@@ -0,0 +1,103 @@
+#!/bin/bash
+# Compare vector (float4) and halfvec (float2) embedding storage: table and HNSW index size,
+# index build time, recall@10 against exact search and query latency with pgbench.
+# Runs inside the docker-compose Postgres container on random 1536-dimension vectors.
+#
+# Usage: scripts/benchmark-halfvec.sh [rows] [queries] [duration-seconds]
+
+set -e
+
+ROWS="${1:-20000}"
+QUERIES="${2:-50}"
+DURATION="${3:-20}"
+CONTAINER="${POSTGRES_CONTAINER:-agentic_rag_postgres}"
+PSQL=(docker exec -i "$CONTAINER" psql -U rag_user -d ragdb -v ON_ERROR_STOP=1 -q)
+
+echo "📊 vector vs halfvec benchmark (${ROWS} rows, ${QUERIES} queries, ${DURATION}s per latency run)"
+
+"${PSQL[@]}" -v rows="$ROWS" -v queries="$QUERIES" <<'SQL'
+DROP SCHEMA IF EXISTS halfvec_bench CASCADE;
+CREATE SCHEMA halfvec_bench;
+CREATE TABLE halfvec_bench.vectors_float4 (id INTEGER PRIMARY KEY, embedding vector(1536) NOT NULL);
+CREATE TABLE halfvec_bench.vectors_float2 (id INTEGER PRIMARY KEY, embedding halfvec(1536) NOT NULL);
+CREATE TABLE halfvec_bench.queries (id INTEGER PRIMARY KEY, embedding vector(1536) NOT NULL);
+
+INSERT INTO halfvec_bench.vectors_float4
+SELECT i, ARRAY(SELECT random() - 0.5 FROM generate_series(1, 1536) WHERE i > 0)::vector(1536)
+FROM generate_series(1, :rows) i;
+INSERT INTO halfvec_bench.vectors_float2
+SELECT id, embedding::halfvec(1536) FROM halfvec_bench.vectors_float4;
+INSERT INTO halfvec_bench.queries
+SELECT i, ARRAY(SELECT random() - 0.5 FROM generate_series(1, 1536) WHERE i > 0)::vector(1536)
+FROM generate_series(1, :queries) i;
+ANALYZE halfvec_bench.vectors_float4, halfvec_bench.vectors_float2, halfvec_bench.queries;
+
+-- Exact top 10 per query, by sequential scan
+CREATE TABLE halfvec_bench.truth AS
+SELECT q.id AS query_id, t.id
+FROM halfvec_bench.queries q
+CROSS JOIN LATERAL (
+  SELECT v.id FROM halfvec_bench.vectors_float4 v
+  ORDER BY v.embedding <=> q.embedding LIMIT 10
+) t;
+SQL
+
+echo -e "\n⏱️  HNSW index build time"
+for table in vectors_float4 vectors_float2; do
+  ops=$([ "$table" = vectors_float4 ] && echo vector_cosine_ops || echo halfvec_cosine_ops)
+  start=$(date +%s%N)
+  "${PSQL[@]}" -c "CREATE INDEX ${table}_hnsw ON halfvec_bench.${table} USING hnsw (embedding ${ops})"
+  echo "  ${table}: $(( ($(date +%s%N) - start) / 1000000 ))ms"
+done
+
+echo -e "\n📦 Size"
+"${PSQL[@]}" <<'SQL'
+SELECT c.relname AS table_name,
+       pg_size_pretty(pg_table_size(c.oid)) AS table_size,
+       pg_size_pretty(pg_relation_size(i.indexrelid)) AS hnsw_index_size
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+JOIN pg_index i ON i.indrelid = c.oid AND NOT i.indisprimary
+WHERE n.nspname = 'halfvec_bench'
+ORDER BY c.relname;
+SQL
+
+echo -e "\n🎯 Recall@10 against exact search (hnsw.ef_search = 40)"
+"${PSQL[@]}" <<'SQL'
+SET hnsw.ef_search = 40;
+SELECT 'vectors_float4' AS table_name,
+       round(avg(hits) / 10.0, 4) AS recall_at_10
+FROM halfvec_bench.queries q
+CROSS JOIN LATERAL (
+  SELECT count(*) AS hits
+  FROM (SELECT v.id FROM halfvec_bench.vectors_float4 v
+        ORDER BY v.embedding <=> q.embedding LIMIT 10) ann
+  JOIN halfvec_bench.truth t ON t.query_id = q.id AND t.id = ann.id
+) r
+UNION ALL
+SELECT 'vectors_float2',
+       round(avg(hits) / 10.0, 4)
+FROM halfvec_bench.queries q
+CROSS JOIN LATERAL (
+  SELECT count(*) AS hits
+  FROM (SELECT v.id FROM halfvec_bench.vectors_float2 v
+        ORDER BY v.embedding <=> q.embedding::halfvec(1536) LIMIT 10) ann
+  JOIN halfvec_bench.truth t ON t.query_id = q.id AND t.id = ann.id
+) r;
+SQL
+
+for table in vectors_float4 vectors_float2; do
+  cast=$([ "$table" = vectors_float4 ] && echo "vector(1536)" || echo "halfvec(1536)")
+  docker exec -i "$CONTAINER" sh -c "cat > /tmp/search_${table}.sql" <<SQL
+\set qid random(1, ${QUERIES})
+SELECT id FROM halfvec_bench.${table}
+ORDER BY embedding <=> (SELECT embedding::${cast} FROM halfvec_bench.queries WHERE id = :qid)
+LIMIT 10;
+SQL
+  echo -e "\n▶️  top-10 search on ${table}"
+  docker exec "$CONTAINER" pgbench -U rag_user -d ragdb -n -c 4 -j 4 \
+    -T "$DURATION" -f "/tmp/search_${table}.sql" | grep -E "^(tps|latency average)"
+done
+
+"${PSQL[@]}" -c "DROP SCHEMA halfvec_bench CASCADE"
+echo -e "\n✅ Benchmark complete"
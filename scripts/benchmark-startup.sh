@@ -0,0 +1,78 @@
+#!/bin/bash
+# Compare time-to-ready of the plain Boot jar against the fast-startup build (Spring AOT,
+# AppCDS archive, lazy springdoc). Time-to-ready is measured from process launch until
+# /actuator/health/readiness reports UP; Spring's own "Started ... in" time is shown alongside.
+# Needs Postgres and Redis from docker-compose. The cache warm-up is disabled so only JVM and
+# context startup are measured.
+#
+# Usage: scripts/benchmark-startup.sh [runs] [port]
+
+set -e
+
+RUNS="${1:-5}"
+PORT="${2:-8090}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+APP_ARGS=(--server.port="$PORT" --app.warmup.enabled=false)
+
+if [ ! -f "$TARGET/agentic-rag.jar" ] || [ ! -f "$TARGET/fast-startup/app.jsa" ]; then
+    echo "🔨 Building plain and fast-startup variants..."
+    (cd "$ROOT" && mvn -B -q clean package -Pfast-startup -DskipTests)
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Launch one variant, wait for readiness, print "<time-to-ready ms> <spring started s>"
+measure() {
+    local log
+    log="$(mktemp)"
+    local start
+    start="$(now_ms)"
+    "$@" "${APP_ARGS[@]}" > "$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" 2>/dev/null | grep -q '"UP"'; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ Application exited, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    local started
+    started="$(grep -o 'Started AgenticRagApplication in [0-9.]*' "$log" | awk '{print $4}')"
+    rm -f "$log"
+    echo "$ready ${started:-?}"
+}
+
+run_variant() {
+    local name="$1"
+    shift
+    local times=()
+    echo "▶️  $name"
+    for i in $(seq 1 "$RUNS"); do
+        read -r ready started < <(measure "$@")
+        echo "   run $i: ready in ${ready}ms (Spring: ${started}s)"
+        times+=("$ready")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    echo "   median ${sorted[$(( RUNS / 2 ))]}ms, best ${sorted[0]}ms"
+    echo
+}
+
+echo "📊 Startup benchmark ($RUNS runs per variant, port $PORT)"
+echo
+
+run_variant "plain jar (everything eager)" \
+    java -jar "$TARGET/agentic-rag.jar" --app.startup.lazy-packages=
+
+cd "$TARGET/fast-startup"
+run_variant "fast-startup (AOT + AppCDS + lazy springdoc)" \
+    java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \
+    -cp "agentic-rag-cds.jar:lib/*" com.enterprise.rag.AgenticRagApplication
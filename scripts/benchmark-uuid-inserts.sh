@@ -0,0 +1,57 @@
+#!/bin/bash
+# Compare insert throughput and primary-key index size for random UUIDv4 keys versus
+# time-ordered UUIDv7 keys, using pgbench inside the docker-compose Postgres container.
+# Requires the stack to be running with migrations applied (rag.uuid_generate_v7 exists).
+#
+# Usage: scripts/benchmark-uuid-inserts.sh [duration-seconds] [clients]
+
+set -e
+
+DURATION="${1:-30}"
+CLIENTS="${2:-8}"
+CONTAINER="${POSTGRES_CONTAINER:-agentic_rag_postgres}"
+PSQL=(docker exec -i "$CONTAINER" psql -U rag_user -d ragdb -v ON_ERROR_STOP=1 -q)
+
+echo "📊 UUID insert benchmark (${DURATION}s per run, ${CLIENTS} clients)"
+
+"${PSQL[@]}" <<'SQL'
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+-- Same shape as rag.messages, minus the foreign key
+CREATE TABLE uuid_bench.messages_v4 (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  conversation_id UUID NOT NULL,
+  role VARCHAR(50) NOT NULL,
+  content TEXT NOT NULL,
+  timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  token_count INTEGER
+);
+CREATE TABLE uuid_bench.messages_v7 (LIKE uuid_bench.messages_v4 INCLUDING ALL);
+ALTER TABLE uuid_bench.messages_v7 ALTER COLUMN id SET DEFAULT rag.uuid_generate_v7();
+SQL
+
+for version in v4 v7; do
+  docker exec -i "$CONTAINER" sh -c "cat > /tmp/insert_${version}.sql" <<SQL
+INSERT INTO uuid_bench.messages_${version} (conversation_id, role, content, token_count)
+VALUES (gen_random_uuid(), 'user', repeat('benchmark message ', 20), 52);
+SQL
+  echo -e "\n▶️  messages_${version}"
+  docker exec "$CONTAINER" pgbench -U rag_user -d ragdb -n -c "$CLIENTS" -j "$CLIENTS" \
+    -T "$DURATION" -f "/tmp/insert_${version}.sql" | grep -E "^(tps|latency average|number of transactions actually processed)"
+done
+
+echo -e "\n📦 Primary-key index size after the runs"
+"${PSQL[@]}" <<'SQL'
+SELECT c.relname AS table_name,
+       s.n_live_tup AS rows,
+       pg_size_pretty(pg_relation_size(i.indexrelid)) AS pk_index_size,
+       round(pg_relation_size(i.indexrelid)::numeric / GREATEST(s.n_live_tup, 1), 1) AS index_bytes_per_row
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indrelid
+JOIN pg_stat_user_tables s ON s.relid = c.oid
+WHERE i.indisprimary AND s.schemaname = 'uuid_bench'
+ORDER BY c.relname;
+DROP SCHEMA uuid_bench CASCADE;
+SQL
+
+echo -e "\n✅ Benchmark complete"
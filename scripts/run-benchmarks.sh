@@ -0,0 +1,29 @@
+#!/bin/bash
+# Build and run the JMH benchmarks in benchmarks/ with the GC allocation profiler.
+# Results are written as JSON to target/jmh-results.json for comparison across commits
+# (e.g. with jmh.morethan.io); the console shows gc.alloc.rate.norm, bytes allocated per
+# operation, next to each score.
+#
+# Usage: scripts/run-benchmarks.sh [benchmark-regex] [extra JMH options...]
+#   scripts/run-benchmarks.sh ChatPathBenchmark
+#   scripts/run-benchmarks.sh 'Token|Validation' -f 2
+
+set -e
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+FILTER="${1:-.*}"
+shift || true
+RESULTS="$ROOT/target/jmh-results.json"
+
+echo "🔨 Building application classes jar and benchmarks..."
+(cd "$ROOT" && mvn -B -q install -Pbenchmarks -DskipTests -Dcheckstyle.skip)
+(cd "$ROOT/benchmarks" && mvn -B -q package)
+
+mkdir -p "$ROOT/target"
+echo "📊 Running benchmarks matching '$FILTER'"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" "$FILTER" \
+    -prof gc \
+    -rf json -rff "$RESULTS" \
+    "$@"
+
+echo "✅ Results written to $RESULTS"
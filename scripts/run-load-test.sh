@@ -0,0 +1,29 @@
+#!/bin/bash
+# Replay benchmarks/load/requests.jsonl against the application with the Java load generator
+# in benchmarks/. Latency is measured from when each request was due, so it is corrected for
+# coordinated omission; per-endpoint HdrHistogram logs (.hlog), percentile distributions
+# (.hgrm, plot with hdrhistogram.github.io/HdrHistogram/plotFiles.html) and summary.json with
+# error rates are written to target/load.
+#
+# With --stack=true the generator starts its own instance: Postgres and Redis from
+# Testcontainers, llm-mock and cloud-mock built from mocks/, and target/agentic-rag.jar with
+# LLM calls going to the mock. Otherwise it targets a running instance (default port 8090).
+#
+# Usage: scripts/run-load-test.sh [--name=value ...]
+#   scripts/run-load-test.sh --stack=true --mode=open --rate=50 --duration=120s
+#   scripts/run-load-test.sh --mode=closed --concurrency=32 --target=http://localhost:8090
+
+set -e
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/benchmarks/target/benchmarks.jar"
+
+if [ ! -f "$JAR" ] || [ ! -f "$ROOT/target/agentic-rag.jar" ]; then
+    echo "🔨 Building application and load generator..."
+    (cd "$ROOT" && mvn -B -q install -Pbenchmarks -DskipTests -Dcheckstyle.skip)
+    (cd "$ROOT/benchmarks" && mvn -B -q package)
+fi
+
+cd "$ROOT"
+echo "📈 Running load test"
+java -cp "$JAR" com.enterprise.rag.benchmarks.load.LoadGenerator "$@"
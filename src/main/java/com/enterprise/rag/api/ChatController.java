@@ -1,8 +1,10 @@
 package com.enterprise.rag.api;
 
+import com.enterprise.rag.config.ReadYourWrites;
 import com.enterprise.rag.dto.ChatRequest;
 import com.enterprise.rag.dto.ChatResponse;
 import com.enterprise.rag.service.ChatService;
+import com.enterprise.rag.service.ConcurrencyLimiterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -23,10 +25,16 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
 
   private final ChatService chatService;
+  private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+  private final ReadYourWrites readYourWrites;
 
   /**
    * Chat endpoint for user queries.
    *
+   * Requests beyond the adaptive concurrency limit are rejected with 503 and Retry-After.
+   * The session ID is bound for read-your-writes, so the session's follow-up reads are served
+   * by the primary while the replica catches up.
+   *
    * @param request the chat request
    * @return chat response with answer and metadata
    */
@@ -37,7 +45,9 @@ public class ChatController {
   )
   public ResponseEntity<ChatResponse> chat(@Valid @RequestBody ChatRequest request) {
     log.info("Received chat request for session: {}", request.getSessionId());
-    ChatResponse response = chatService.chat(request);
+    ChatResponse response = readYourWrites.callInSession(request.getSessionId(), () ->
+        concurrencyLimiterRegistry.limiter(ConcurrencyLimiterRegistry.CHAT)
+            .execute(() -> chatService.chat(request)));
     return ResponseEntity.ok(response);
   }
 
@@ -0,0 +1,41 @@
+package com.enterprise.rag.api;
+
+import com.enterprise.rag.dto.CloudJob;
+import com.enterprise.rag.service.CloudEngineClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives job completion callbacks from the cloud engine.
+ * Set {@code cloud.jobs.callback-url} to this endpoint to complete jobs without waiting for a poll.
+ */
+@RestController
+@RequestMapping("/api/cloud/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cloud jobs", description = "Cloud engine job callbacks")
+public class CloudJobCallbackController {
+
+  private final CloudEngineClient cloudEngineClient;
+
+  /**
+   * Job callback endpoint.
+   *
+   * @param job the job as reported by the cloud engine
+   * @return 202 once the update is applied
+   */
+  @PostMapping("/callback")
+  @Operation(summary = "Cloud job callback", description = "Report a finished cloud engine job")
+  public ResponseEntity<Void> callback(@RequestBody CloudJob job) {
+    log.debug("Received callback for cloud job {} ({})", job.getJobId(), job.getStatus());
+    cloudEngineClient.onJobUpdate(job);
+    return ResponseEntity.accepted().build();
+  }
+}
@@ -0,0 +1,88 @@
+package com.enterprise.rag.api;
+
+import com.enterprise.rag.dto.ConversationSummary;
+import com.enterprise.rag.dto.CursorPage;
+import com.enterprise.rag.dto.ExecutionSummary;
+import com.enterprise.rag.dto.MessageView;
+import com.enterprise.rag.service.HistoryQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Cursor-paginated conversation, message and agent execution listings.
+ * Each page carries an opaque {@code nextCursor}; pass it back as {@code cursor} to fetch the
+ * following page. It is null on the last page.
+ */
+@RestController
+@RequestMapping("/api/history")
+@RequiredArgsConstructor
+@Tag(name = "History", description = "Paginated conversation and agent history")
+public class HistoryController {
+
+  private static final String DEFAULT_LIMIT = "20";
+
+  private final HistoryQueryService historyQueryService;
+
+  /**
+   * List a user's conversations, newest first.
+   *
+   * @param userId the user ID
+   * @param cursor cursor from the previous page, omitted for the first page
+   * @param limit page size (1 to {@value HistoryQueryService#MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  @GetMapping("/users/{userId}/conversations")
+  @Operation(summary = "List conversations", description = "A user's conversations, newest first")
+  public ResponseEntity<CursorPage<ConversationSummary>> conversations(
+      @PathVariable String userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+    return ResponseEntity.ok(historyQueryService.conversationsForUser(userId, cursor, limit)
+        .map(ConversationSummary::from));
+  }
+
+  /**
+   * List a conversation's messages, oldest first.
+   *
+   * @param conversationId the conversation ID
+   * @param cursor cursor from the previous page, omitted for the first page
+   * @param limit page size (1 to {@value HistoryQueryService#MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  @GetMapping("/conversations/{conversationId}/messages")
+  @Operation(summary = "List messages", description = "A conversation's messages, oldest first")
+  public ResponseEntity<CursorPage<MessageView>> messages(
+      @PathVariable UUID conversationId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+    return ResponseEntity.ok(historyQueryService.messagesForConversation(conversationId, cursor, limit)
+        .map(MessageView::from));
+  }
+
+  /**
+   * List executions of an agent type, newest first.
+   *
+   * @param agentType the agent type
+   * @param cursor cursor from the previous page, omitted for the first page
+   * @param limit page size (1 to {@value HistoryQueryService#MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  @GetMapping("/agents/{agentType}/executions")
+  @Operation(summary = "List agent executions", description = "Executions of an agent type, newest first")
+  public ResponseEntity<CursorPage<ExecutionSummary>> executions(
+      @PathVariable String agentType,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+    return ResponseEntity.ok(historyQueryService.executionsForAgentType(agentType, cursor, limit)
+        .map(ExecutionSummary::from));
+  }
+}
@@ -0,0 +1,56 @@
+package com.enterprise.rag.api;
+
+import com.enterprise.rag.dto.LatencySummary;
+import com.enterprise.rag.exception.ResourceNotFoundException;
+import com.enterprise.rag.service.LatencyStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Latency percentiles of agents and tools over the recent window.
+ * Served from precomputed snapshots, so these endpoints never touch the database.
+ */
+@RestController
+@RequestMapping("/api/stats/latency")
+@RequiredArgsConstructor
+@Tag(name = "Stats", description = "Agent and tool latency percentiles")
+public class LatencyStatsController {
+
+  private final LatencyStatsService latencyStatsService;
+
+  /**
+   * List the percentiles of every agent type and tool with recent samples.
+   *
+   * @return summaries ordered by subject type and name
+   */
+  @GetMapping
+  @Operation(summary = "All latency summaries", description = "p50/p95/p99 of every agent and tool")
+  public ResponseEntity<List<LatencySummary>> summaries() {
+    return ResponseEntity.ok(latencyStatsService.summaries());
+  }
+
+  /**
+   * Get the percentiles of one agent type or tool.
+   *
+   * @param subjectType "agent" or "tool"
+   * @param subjectName agent type or tool name
+   * @return the summary, or 404 if it has no samples in the window
+   */
+  @GetMapping("/{subjectType}/{subjectName}")
+  @Operation(summary = "Latency summary", description = "p50/p95/p99 of one agent type or tool")
+  public ResponseEntity<LatencySummary> summary(@PathVariable String subjectType,
+                                                @PathVariable String subjectName) {
+    return latencyStatsService.summary(subjectType, subjectName)
+        .map(ResponseEntity::ok)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "No latency samples for " + subjectType + " '" + subjectName + "'"));
+  }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.rag.api;
+
+import com.enterprise.rag.config.ReadReplicaProperties;
+import com.enterprise.rag.config.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request's session header to {@link ReadYourWrites} for the request's duration.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private final ReadYourWrites readYourWrites;
+  private final ReadReplicaProperties properties;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    ReadYourWrites.Binding binding =
+        readYourWrites.bind(request.getHeader(properties.getSessionHeader()));
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      binding.close();
+    }
+  }
+}
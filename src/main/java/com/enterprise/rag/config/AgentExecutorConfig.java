@@ -0,0 +1,25 @@
+package com.enterprise.rag.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the bounded executor that runs agent tool calls.
+ */
+@Configuration
+public class AgentExecutorConfig {
+
+  @Bean(name = "agentToolExecutor")
+  public ThreadPoolTaskExecutor agentToolExecutor(AgentProperties agentProperties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(agentProperties.getToolPoolSize());
+    executor.setMaxPoolSize(agentProperties.getToolPoolSize());
+    executor.setQueueCapacity(agentProperties.getToolQueueCapacity());
+    executor.setThreadNamePrefix("agent-tool-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    executor.initialize();
+    return executor;
+  }
+}
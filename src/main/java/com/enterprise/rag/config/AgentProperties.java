@@ -0,0 +1,127 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for agent execution ({@code app.agent}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.agent")
+public class AgentProperties {
+
+  private int maxIterations = 5;
+
+  private long planningTimeout = 30000;
+
+  /**
+   * Default tool call timeout in milliseconds.
+   */
+  private long toolTimeout = 10000;
+
+  /**
+   * Per-tool timeout overrides in milliseconds, keyed by tool name.
+   */
+  private Map<String, Long> toolTimeouts = new HashMap<>();
+
+  /**
+   * Threads available for running tool calls concurrently.
+   */
+  private int toolPoolSize = 16;
+
+  /**
+   * Tool calls that may wait for a thread before new calls are rejected.
+   */
+  private int toolQueueCapacity = 100;
+
+  /**
+   * Tool result cache settings.
+   */
+  private ToolCache toolCache = new ToolCache();
+
+  /**
+   * Asynchronous telemetry persistence settings.
+   */
+  private Telemetry telemetry = new Telemetry();
+
+  /**
+   * Settings for caching deterministic tool results.
+   */
+  @Data
+  public static class ToolCache {
+
+    private boolean enabled = true;
+
+    private long maxEntries = 10000;
+
+    /**
+     * Cache TTL per tool name; tools not listed here are never cached.
+     */
+    private Map<String, Duration> ttl = new HashMap<>();
+  }
+
+  /**
+   * Settings for buffering agent executions and writing them in batches.
+   */
+  @Data
+  public static class Telemetry {
+
+    /**
+     * Executions held in memory awaiting the writer.
+     */
+    private int bufferCapacity = 10000;
+
+    /**
+     * Maximum executions written per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an execution waits before its batch is flushed.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * What to do when the buffer is under pressure.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * With SAMPLE, record one in this many executions once the buffer is over half full.
+     */
+    private int sampleRate = 10;
+
+    /**
+     * With BLOCK, how long a caller waits for space before the execution is dropped.
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * Retries of a batch that failed for a reason other than rejected data, before it is dropped.
+     */
+    private int retryAttempts = 3;
+
+    /**
+     * Wait before the first retry; doubles with each further retry.
+     */
+    private Duration retryBackoff = Duration.ofMillis(500);
+  }
+
+  /**
+   * Behavior of the telemetry buffer when it cannot keep up.
+   */
+  public enum OverflowPolicy {
+    /** Drop new executions while the buffer is full. */
+    DROP,
+    /** Keep a sample of executions once the buffer is over half full; drop when full. */
+    SAMPLE,
+    /** Block the caller until space frees up or the block timeout elapses. */
+    BLOCK
+  }
+}
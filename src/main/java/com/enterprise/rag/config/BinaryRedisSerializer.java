@@ -0,0 +1,246 @@
+package com.enterprise.rag.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary codec for Redis cache values.
+ *
+ * <p>Values are encoded as Smile (binary JSON) behind a small header:
+ * <pre>
+ *   byte 0      format version (1)
+ *   byte 1      compression: 0 none, 1 deflate (2 reserved for LZ4)
+ *   bytes 2-3   length of the value's class name, then the name in UTF-8
+ *   rest        payload; a compressed payload is prefixed with its uncompressed length (int)
+ * </pre>
+ * Being field-name based, the encoding tolerates added and removed fields across deploys;
+ * unknown fields are ignored on read. Type information is written for nested non-final types
+ * so values read back as the classes that were cached, restricted to application, JDK and
+ * java.time types. {@code float[]} vectors are written as raw little-endian bytes and
+ * {@code LocalDateTime}s as numeric arrays. Payloads above the compression threshold are
+ * deflated at the fastest level.
+ */
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+  static final byte FORMAT_VERSION = 1;
+  static final byte COMPRESSION_NONE = 0;
+  static final byte COMPRESSION_DEFLATE = 1;
+
+  private static final int HEADER_BYTES = 2;
+
+  private final ObjectMapper mapper;
+  private final int compressAbove;
+
+  /**
+   * Create a codec.
+   *
+   * @param compressAbove payloads larger than this many bytes are compressed; negative disables
+   */
+  public BinaryRedisSerializer(int compressAbove) {
+    this.compressAbove = compressAbove;
+    SimpleModule vectors = new SimpleModule("binary-vectors")
+        .addSerializer(float[].class, new FloatArraySerializer())
+        .addDeserializer(float[].class, new FloatArrayDeserializer());
+    SmileFactory smile = SmileFactory.builder()
+        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+        .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+        .build();
+    this.mapper = JsonMapper.builder(smile)
+        .addModule(new JavaTimeModule())
+        .addModule(vectors)
+        .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.enterprise.rag.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubTypeIsArray()
+                .build(),
+            ObjectMapper.DefaultTyping.NON_FINAL)
+        .build();
+  }
+
+  @Override
+  public byte[] serialize(Object value) {
+    if (value == null) {
+      return new byte[0];
+    }
+    byte[] payload;
+    try {
+      payload = mapper.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new SerializationException("Could not encode " + value.getClass().getName(), e);
+    }
+    boolean compress = compressAbove >= 0 && payload.length > compressAbove;
+    byte[] type = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_BYTES + 2 + type.length
+        + (compress ? payload.length / 2 : payload.length));
+    out.write(FORMAT_VERSION);
+    out.write(compress ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+    out.write(type.length >>> 8);
+    out.write(type.length);
+    out.writeBytes(type);
+    if (compress) {
+      deflate(payload, out);
+    } else {
+      out.writeBytes(payload);
+    }
+    return out.toByteArray();
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes.length < HEADER_BYTES + 2 || bytes[0] != FORMAT_VERSION) {
+      throw new SerializationException("Unsupported cache value format");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES);
+    int typeLength = Short.toUnsignedInt(buffer.getShort());
+    String typeName = new String(bytes, buffer.position(), typeLength, StandardCharsets.UTF_8);
+    int offset = buffer.position() + typeLength;
+    try {
+      Class<?> type = resolve(typeName);
+      return switch (bytes[1]) {
+        case COMPRESSION_NONE -> mapper.readValue(bytes, offset, bytes.length - offset, type);
+        case COMPRESSION_DEFLATE -> mapper.readValue(inflate(bytes, offset), type);
+        default -> throw new SerializationException("Unsupported cache value compression " + bytes[1]);
+      };
+    } catch (IOException | DataFormatException | ClassNotFoundException e) {
+      throw new SerializationException("Could not decode cached " + typeName, e);
+    }
+  }
+
+  private Class<?> resolve(String typeName) throws ClassNotFoundException {
+    String elementName = typeName.replaceFirst("^\\[+L?", "");
+    if (!typeName.equals(elementName) && elementName.length() == 1) {
+      return Class.forName(typeName);
+    }
+    if (!elementName.startsWith("com.enterprise.rag.") && !elementName.startsWith("java.")) {
+      throw new SerializationException("Refusing to decode cached " + typeName);
+    }
+    return Class.forName(typeName, false, getClass().getClassLoader());
+  }
+
+  private static void deflate(byte[] payload, ByteArrayOutputStream out) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+      out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(payload.length).array());
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+      }
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] bytes, int offset) throws DataFormatException {
+    int length = ByteBuffer.wrap(bytes, offset, Integer.BYTES).getInt();
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, offset + Integer.BYTES, bytes.length - offset - Integer.BYTES);
+      byte[] payload = new byte[length];
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        int n = inflater.inflate(payload, read, length - read);
+        if (n == 0 && inflater.needsInput()) {
+          throw new DataFormatException("Truncated cache value");
+        }
+        read += n;
+      }
+      return read == length ? payload : Arrays.copyOf(payload, read);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Writes a float array as one binary value of little-endian IEEE 754 floats.
+   */
+  static final class FloatArraySerializer extends StdSerializer<float[]> {
+
+    FloatArraySerializer() {
+      super(float[].class);
+    }
+
+    @Override
+    public void serialize(float[] value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(value.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asFloatBuffer().put(value);
+      generator.writeBinary(buffer.array());
+    }
+
+    @Override
+    public void serializeWithType(float[] value, JsonGenerator generator, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+      WritableTypeId typeId = typeSerializer.writeTypePrefix(generator,
+          typeSerializer.typeId(value, JsonToken.VALUE_EMBEDDED_OBJECT));
+      serialize(value, generator, provider);
+      typeSerializer.writeTypeSuffix(generator, typeId);
+    }
+  }
+
+  /**
+   * Reads float arrays written by {@link FloatArraySerializer}, or as plain number arrays.
+   */
+  static final class FloatArrayDeserializer extends StdScalarDeserializer<float[]> {
+
+    FloatArrayDeserializer() {
+      super(float[].class);
+    }
+
+    @Override
+    public float[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      if (parser.currentToken() == JsonToken.START_ARRAY) {
+        float[] values = new float[16];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+          }
+          values[size++] = parser.getFloatValue();
+        }
+        return Arrays.copyOf(values, size);
+      }
+      byte[] bytes = parser.getBinaryValue();
+      float[] values = new float[bytes.length / Float.BYTES];
+      ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+      return values;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.enterprise.rag.config;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Two-tier caching: per-instance Guava L1 caches in front of Redis, kept coherent through
+ * Redis pub/sub invalidations.
+ * Replaces the plain Redis cache manager Spring Boot would configure for
+ * {@code spring.cache.type: redis}. Redis values are encoded with the codec selected by
+ * {@code app.cache.codec}.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+      RedisConnectionFactory connectionFactory) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    return container;
+  }
+
+  @Bean
+  public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redis,
+                                                   RedisMessageListenerContainer container,
+                                                   TwoTierCacheProperties properties) {
+    return new CacheInvalidationBus(redis, container, properties.getInvalidationChannel());
+  }
+
+  @Bean
+  public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                   CacheProperties cacheProperties,
+                                   CacheInvalidationBus invalidationBus,
+                                   TwoTierCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+    CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+    RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+            valueSerializer(properties)));
+    if (redisProperties.getTimeToLive() != null) {
+      configuration = configuration.entryTtl(redisProperties.getTimeToLive());
+    }
+    if (!redisProperties.isCacheNullValues()) {
+      configuration = configuration.disableCachingNullValues();
+    }
+    RedisCacheManager remote = RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(configuration)
+        .build();
+    remote.afterPropertiesSet();
+    return new TwoTierCacheManager(remote, invalidationBus, properties, meterRegistry);
+  }
+
+  private static RedisSerializer<?> valueSerializer(TwoTierCacheProperties properties) {
+    return switch (properties.getCodec()) {
+      case BINARY -> new BinaryRedisSerializer((int) properties.getCompressAbove().toBytes());
+      case JSON -> new GenericJackson2JsonRedisSerializer()
+          .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+      case JDK -> new JdkSerializationRedisSerializer();
+    };
+  }
+}
@@ -0,0 +1,96 @@
+package com.enterprise.rag.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts local-cache invalidations to the other instances over Redis pub/sub.
+ *
+ * <p>A message names a cache and a key, or only a cache to clear it. Instances ignore their own
+ * messages. Delivery is best effort: a message published while an instance is disconnected is
+ * lost, so local caches must also expire on their own.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+  private static final char EVICT = 'E';
+  private static final char CLEAR = 'C';
+
+  private final StringRedisTemplate redis;
+  private final String channel;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+  public CacheInvalidationBus(StringRedisTemplate redis, RedisMessageListenerContainer container,
+                              String channel) {
+    this.redis = redis;
+    this.channel = channel;
+    container.addMessageListener(this, new ChannelTopic(channel));
+  }
+
+  /**
+   * Listen for invalidations of a cache published by other instances.
+   *
+   * @param cacheName the cache name
+   * @param listener receives the invalidated key, or null when the whole cache is cleared
+   */
+  public void subscribe(String cacheName, Consumer<String> listener) {
+    listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  /**
+   * Tell the other instances to drop one key from their local copy of a cache.
+   *
+   * @param cacheName the cache name
+   * @param key the key, in string form
+   */
+  public void publishEvict(String cacheName, String key) {
+    publish(EVICT + instanceId + "\n" + cacheName + "\n" + key);
+  }
+
+  /**
+   * Tell the other instances to clear their local copy of a cache.
+   *
+   * @param cacheName the cache name
+   */
+  public void publishClear(String cacheName) {
+    publish(CLEAR + instanceId + "\n" + cacheName + "\n");
+  }
+
+  private void publish(String message) {
+    try {
+      redis.convertAndSend(channel, message);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] parts = body.split("\n", 3);
+    if (parts.length < 3 || parts[0].length() < 2 || parts[0].substring(1).equals(instanceId)) {
+      return;
+    }
+    String key = parts[0].charAt(0) == EVICT ? parts[2] : null;
+    for (Consumer<String> listener : listeners.getOrDefault(parts[1], List.of())) {
+      try {
+        listener.accept(key);
+      } catch (RuntimeException e) {
+        log.warn("Cache invalidation listener for {} failed: {}", parts[1], e.getMessage());
+      }
+    }
+  }
+}
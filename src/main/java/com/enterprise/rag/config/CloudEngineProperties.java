@@ -0,0 +1,70 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the cloud engine client ({@code cloud}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cloud")
+public class CloudEngineProperties {
+
+  private String baseUrl = "http://localhost:8082";
+
+  /**
+   * HTTP request timeout in milliseconds.
+   */
+  private long timeout = 10000;
+
+  /**
+   * Asynchronous job tracking settings.
+   */
+  private Jobs jobs = new Jobs();
+
+  /**
+   * Settings for tracking outstanding cloud jobs.
+   */
+  @Data
+  public static class Jobs {
+
+    /**
+     * Poll interval of a job right after submission or a status change.
+     */
+    private Duration minPollInterval = Duration.ofMillis(200);
+
+    /**
+     * Longest poll interval a job backs off to while its status is unchanged.
+     */
+    private Duration maxPollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Factor the poll interval grows by after each unchanged status.
+     */
+    private double backoffMultiplier = 1.5;
+
+    /**
+     * Maximum jobs per batched status request.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Long-poll wait sent with status requests; zero polls without waiting.
+     */
+    private Duration longPollWait = Duration.ZERO;
+
+    /**
+     * How long a job may run before its future fails, unless the caller sets a timeout.
+     */
+    private Duration defaultTimeout = Duration.ofMinutes(10);
+
+    /**
+     * URL the cloud engine should POST finished jobs to; empty to rely on polling only.
+     */
+    private String callbackUrl = "";
+  }
+}
@@ -0,0 +1,61 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for adaptive concurrency limiters ({@code app.concurrency-limit}).
+ * Limiters not listed under {@code limiters} use the default settings.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+  /**
+   * When false, limiters admit every request without measuring it.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Per-limiter settings keyed by limiter name (e.g. "chat", "llm", "retrieval").
+   */
+  private Map<String, Limiter> limiters = new HashMap<>();
+
+  /**
+   * Settings for one limiter.
+   */
+  @Data
+  public static class Limiter {
+
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    /**
+     * Weight of each new limit estimate (0-1]; lower values react more slowly.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Latency increase over the long-term RTT tolerated before the limit shrinks.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Multiplicative decrease applied when a call times out or is shed downstream.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Number of samples in the long-term RTT average.
+     */
+    private int longWindow = 600;
+  }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for bulk conversation purges ({@code app.conversation-purge}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.conversation-purge")
+public class ConversationPurgeProperties {
+
+  /**
+   * Conversations deleted per transaction.
+   */
+  private int batchSize = 100;
+
+  /**
+   * Pause between batches, leaving room for chat traffic.
+   */
+  private Duration pause = Duration.ofMillis(200);
+}
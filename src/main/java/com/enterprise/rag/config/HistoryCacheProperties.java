@@ -0,0 +1,47 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the conversation history cache ({@code app.history-cache}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.history-cache")
+public class HistoryCacheProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * Expiry of a cached history in Redis, renewed on every append.
+   */
+  private Duration ttl = Duration.ofHours(1);
+
+  /**
+   * Conversations with more messages than this are read from the database instead.
+   */
+  private int maxMessages = 500;
+
+  /**
+   * Local near-cache in front of Redis.
+   */
+  private NearCache nearCache = new NearCache();
+
+  /**
+   * Settings for the per-instance near-cache of the hottest conversations.
+   */
+  @Data
+  public static class NearCache {
+
+    private int maxEntries = 1000;
+
+    /**
+     * How long an entry is served locally; bounds staleness should an invalidation be lost.
+     */
+    private Duration ttl = Duration.ofSeconds(2);
+  }
+}
@@ -0,0 +1,38 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for in-memory latency sketches and their rollups ({@code app.latency-stats}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.latency-stats")
+public class LatencyStatsProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * How often interval histograms are persisted and percentile snapshots refreshed.
+   */
+  private Duration rollupInterval = Duration.ofSeconds(30);
+
+  /**
+   * Sliding window the served percentiles cover.
+   */
+  private Duration window = Duration.ofHours(1);
+
+  /**
+   * How long rollup rows are kept in the summary table.
+   */
+  private Duration retention = Duration.ofDays(7);
+
+  /**
+   * HdrHistogram precision; 2 digits keeps values within 1%.
+   */
+  private int significantDigits = 2;
+}
@@ -0,0 +1,61 @@
+package com.enterprise.rag.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Lazy initialization of beans not needed to serve chat traffic.
+ *
+ * <p>Beans whose class, or whose factory configuration class, starts with one of
+ * {@code app.startup.lazy-packages} are created on first use instead of during startup. By
+ * default that is springdoc and {@link OpenApiConfig}: the API docs are built when
+ * {@code /v3/api-docs} is first requested. Unlike {@code spring.main.lazy-initialization},
+ * request-path beans stay eager, so the first chat request pays nothing extra. Beans with an
+ * explicit {@code @Lazy} setting keep it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+  private static final List<String> DEFAULT_LAZY_PACKAGES =
+      List.of("org.springdoc.", OpenApiConfig.class.getName());
+
+  @Bean
+  public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+    List<String> prefixes = Binder.get(environment)
+        .bind("app.startup.lazy-packages", Bindable.listOf(String.class))
+        .orElse(DEFAULT_LAZY_PACKAGES)
+        .stream()
+        .filter(prefix -> !prefix.isBlank())
+        .toList();
+    return beanFactory -> {
+      if (prefixes.isEmpty()) {
+        return;
+      }
+      for (String name : beanFactory.getBeanDefinitionNames()) {
+        BeanDefinition definition = beanFactory.getBeanDefinition(name);
+        if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE
+            || (definition instanceof AbstractBeanDefinition explicit
+                && explicit.getLazyInit() != null)) {
+          continue;
+        }
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+            && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+          className = beanFactory.getBeanDefinition(definition.getFactoryBeanName())
+              .getBeanClassName();
+        }
+        if (className != null && prefixes.stream().anyMatch(className::startsWith)) {
+          definition.setLazyInit(true);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,34 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for monthly table partitions ({@code app.partitioning}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitioningProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * Months of future partitions kept ready beyond the current month.
+   */
+  private int monthsAhead = 3;
+
+  /**
+   * When partitions are created and expired.
+   */
+  private String cron = "0 15 3 * * *";
+
+  /**
+   * Full months kept before the current month, per partitioned table; 0 keeps everything.
+   */
+  private Map<String, Integer> retentionMonths = new HashMap<>();
+}
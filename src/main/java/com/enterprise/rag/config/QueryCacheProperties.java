@@ -0,0 +1,32 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for caching query pipeline results ({@code app.query-cache}).
+ * Entries live in the two-tier cache manager; their Redis TTL comes from
+ * {@code spring.cache.redis.time-to-live}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query-cache")
+public class QueryCacheProperties {
+
+  /**
+   * Cache query embeddings.
+   */
+  private boolean embeddings = true;
+
+  /**
+   * Cache retrieved candidate chunks per query and top-k.
+   */
+  private boolean retrieval = true;
+
+  /**
+   * Cache generated answers per query, context and generation parameters. Identical requests
+   * then get identical answers, whatever the sampling temperature.
+   */
+  private boolean answers = true;
+}
@@ -0,0 +1,68 @@
+package com.enterprise.rag.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica connection pools behind a routing data source.
+ * Active with {@code app.read-replica.enabled=true}; otherwise Spring Boot's single pool is used.
+ *
+ * <p>Each pool is named ({@code rag-primary}, {@code rag-replica}), so Hikari metrics are
+ * reported per pool. Flyway always migrates the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("rag-primary");
+    return dataSource;
+  }
+
+  @Bean
+  public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties,
+                                            ReadReplicaProperties replicaProperties) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName("rag-replica");
+    dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+    dataSource.setJdbcUrl(replicaProperties.getUrl());
+    dataSource.setUsername(replicaProperties.getUsername() != null
+        ? replicaProperties.getUsername()
+        : dataSourceProperties.getUsername());
+    dataSource.setPassword(replicaProperties.getPassword() != null
+        ? replicaProperties.getPassword()
+        : dataSourceProperties.getPassword());
+    dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+    dataSource.setMinimumIdle(replicaProperties.getMinimumIdle());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                               @Qualifier("replicaDataSource") DataSource replica,
+                               ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+    ReadReplicaRoutingDataSource routing =
+        new ReadReplicaRoutingDataSource(primary, replica, readYourWrites, meterRegistry);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
@@ -0,0 +1,39 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for routing read-only transactions to a replica ({@code app.read-replica}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.read-replica")
+public class ReadReplicaProperties {
+
+  private boolean enabled = false;
+
+  private String url;
+
+  private String username;
+
+  private String password;
+
+  private int maximumPoolSize = 10;
+
+  private int minimumIdle = 2;
+
+  /**
+   * How long a session's reads stay on the primary after it writes, so it sees its own writes
+   * despite replication lag. Zero disables pinning.
+   */
+  private Duration pinAfterWrite = Duration.ofSeconds(5);
+
+  /**
+   * Request header identifying the session for read-your-writes pinning.
+   */
+  private String sessionHeader = "X-Session-Id";
+}
@@ -0,0 +1,57 @@
+package com.enterprise.rag.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions to the replica and everything else to the primary.
+ *
+ * <p>Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the connection is obtained
+ * after the transaction's read-only flag is set. Reads of a session that wrote recently stay on
+ * the primary (see {@link ReadYourWrites}).
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  static final String PRIMARY = "primary";
+  static final String REPLICA = "replica";
+
+  private final ReadYourWrites readYourWrites;
+  private final Counter primaryRoutes;
+  private final Counter replicaRoutes;
+
+  public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+    this.readYourWrites = readYourWrites;
+    setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    this.primaryRoutes = routeCounter(meterRegistry, PRIMARY);
+    this.replicaRoutes = routeCounter(meterRegistry, REPLICA);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+    if (inTransaction && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !readYourWrites.isPinnedToPrimary()) {
+      replicaRoutes.increment();
+      return REPLICA;
+    }
+    if (inTransaction && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      readYourWrites.recordWrite();
+    }
+    primaryRoutes.increment();
+    return PRIMARY;
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+    return Counter.builder("rag.datasource.routed")
+        .description("Connections handed out by the routing data source")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
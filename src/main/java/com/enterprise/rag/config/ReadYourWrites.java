@@ -0,0 +1,113 @@
+package com.enterprise.rag.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Tracks which sessions wrote recently so their reads can be pinned to the primary.
+ *
+ * <p>The current session is bound to the thread, by {@code ReadYourWritesFilter} for HTTP
+ * requests or by {@link #callInSession(String, Supplier)} elsewhere. A write transaction in a
+ * session pins it to the primary for {@code app.read-replica.pin-after-write} after it commits.
+ */
+@Component
+public class ReadYourWrites {
+
+  private static final ThreadLocal<String> CURRENT_SESSION = new ThreadLocal<>();
+
+  private final Cache<String, Boolean> recentWriters;
+  private final boolean pinningEnabled;
+
+  public ReadYourWrites(ReadReplicaProperties properties) {
+    this.pinningEnabled = !properties.getPinAfterWrite().isZero();
+    this.recentWriters = CacheBuilder.newBuilder()
+        .expireAfterWrite(properties.getPinAfterWrite())
+        .maximumSize(100_000)
+        .build();
+  }
+
+  /**
+   * Bind a session to the current thread until the returned binding is closed,
+   * which restores the previous binding.
+   *
+   * @param sessionKey the session identity (null or empty binds no session)
+   * @return the binding to close
+   */
+  public Binding bind(String sessionKey) {
+    String previous = CURRENT_SESSION.get();
+    if (sessionKey == null || sessionKey.isEmpty()) {
+      CURRENT_SESSION.remove();
+    } else {
+      CURRENT_SESSION.set(sessionKey);
+    }
+    return () -> {
+      if (previous == null) {
+        CURRENT_SESSION.remove();
+      } else {
+        CURRENT_SESSION.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Run work with a session bound to the current thread.
+   *
+   * @param sessionKey the session identity (null or empty runs without a session)
+   * @param work the work to run
+   * @param <T> result type
+   * @return the work's result
+   */
+  public <T> T callInSession(String sessionKey, Supplier<T> work) {
+    Binding binding = bind(sessionKey);
+    try {
+      return work.get();
+    } finally {
+      binding.close();
+    }
+  }
+
+  /**
+   * Note that the current session is writing, pinning its reads to the primary.
+   * Inside a transaction the pin window starts when the transaction commits.
+   */
+  public void recordWrite() {
+    String session = CURRENT_SESSION.get();
+    if (!pinningEnabled || session == null) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          recentWriters.put(session, Boolean.TRUE);
+        }
+      });
+    } else {
+      recentWriters.put(session, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Check whether the current session wrote within the pin window.
+   *
+   * @return true if reads must go to the primary
+   */
+  public boolean isPinnedToPrimary() {
+    String session = CURRENT_SESSION.get();
+    return session != null && recentWriters.getIfPresent(session) != null;
+  }
+
+  /**
+   * A thread's session binding; closing it restores the previous one.
+   */
+  @FunctionalInterface
+  public interface Binding extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
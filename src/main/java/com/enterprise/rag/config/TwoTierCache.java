@@ -0,0 +1,171 @@
+package com.enterprise.rag.config;
+
+import com.google.common.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} with a bounded in-process L1 in front of a
+ * shared L2 (Redis).
+ *
+ * <p>Reads are served from L1 when present and fill it from L2 otherwise. Writes go to L2
+ * first, then L1, and are broadcast through {@link CacheInvalidationBus} so other instances
+ * drop their L1 copy and re-read L2. L1 holds value wrappers, so cached nulls are preserved.
+ * Keys are compared by their string form, as in the Redis tier. L2 values that no longer
+ * decode (written by another codec or an incompatible class version) are evicted and treated
+ * as misses.
+ */
+@Slf4j
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+  private final String name;
+  private final Cache<String, ValueWrapper> local;
+  private final org.springframework.cache.Cache remote;
+  private final CacheInvalidationBus invalidationBus;
+
+  public TwoTierCache(String name, Cache<String, ValueWrapper> local,
+                      org.springframework.cache.Cache remote, CacheInvalidationBus invalidationBus) {
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+    this.invalidationBus = invalidationBus;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return this;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String localKey = localKey(key);
+    ValueWrapper wrapper = local.getIfPresent(localKey);
+    if (wrapper == null) {
+      wrapper = remoteGet(key);
+      if (wrapper != null) {
+        local.put(localKey, new SimpleValueWrapper(wrapper.get()));
+      }
+    }
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper != null ? wrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException("Cached value is not of required type [" + type.getName()
+          + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String localKey = localKey(key);
+    ValueWrapper wrapper = local.getIfPresent(localKey);
+    if (wrapper != null) {
+      return (T) wrapper.get();
+    }
+    T value;
+    try {
+      value = remote.get(key, valueLoader);
+    } catch (SerializationException e) {
+      dropUnreadable(key, e);
+      value = remote.get(key, valueLoader);
+    }
+    local.put(localKey, new SimpleValueWrapper(value));
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    remote.put(key, value);
+    String localKey = localKey(key);
+    local.put(localKey, new SimpleValueWrapper(value));
+    invalidationBus.publishEvict(name, localKey);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = remote.putIfAbsent(key, value);
+    String localKey = localKey(key);
+    local.put(localKey, new SimpleValueWrapper(existing != null ? existing.get() : value));
+    if (existing == null) {
+      invalidationBus.publishEvict(name, localKey);
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    evictLocal(localKey(key));
+    invalidationBus.publishEvict(name, localKey(key));
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean present = remote.evictIfPresent(key);
+    evictLocal(localKey(key));
+    invalidationBus.publishEvict(name, localKey(key));
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    clearLocal();
+    invalidationBus.publishClear(name);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean hadEntries = remote.invalidate();
+    clearLocal();
+    invalidationBus.publishClear(name);
+    return hadEntries;
+  }
+
+  /**
+   * Drop one key from L1 only, on an invalidation from another instance.
+   */
+  void evictLocal(String localKey) {
+    local.invalidate(localKey);
+  }
+
+  /**
+   * Clear L1 only, on an invalidation from another instance.
+   */
+  void clearLocal() {
+    local.invalidateAll();
+  }
+
+  private ValueWrapper remoteGet(Object key) {
+    try {
+      return remote.get(key);
+    } catch (SerializationException e) {
+      dropUnreadable(key, e);
+      return null;
+    }
+  }
+
+  private void dropUnreadable(Object key, SerializationException e) {
+    log.warn("Evicting unreadable entry {} from cache {}: {}", key, name, e.getMessage());
+    remote.evict(key);
+  }
+
+  private static String localKey(Object key) {
+    return String.valueOf(key);
+  }
+}
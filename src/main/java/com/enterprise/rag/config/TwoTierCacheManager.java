@@ -0,0 +1,70 @@
+package com.enterprise.rag.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CacheManager} creating a {@link TwoTierCache} per cache name: a Guava L1 sized by
+ * {@code app.cache} in front of the Redis cache of the same name.
+ *
+ * <p>Each L1 reports Micrometer cache metrics under {@code cache.*} with the tag
+ * {@code cache=<name>.l1}.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+  private final CacheManager remoteCacheManager;
+  private final CacheInvalidationBus invalidationBus;
+  private final TwoTierCacheProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+  public TwoTierCacheManager(CacheManager remoteCacheManager, CacheInvalidationBus invalidationBus,
+                             TwoTierCacheProperties properties, MeterRegistry meterRegistry) {
+    this.remoteCacheManager = remoteCacheManager;
+    this.invalidationBus = invalidationBus;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public org.springframework.cache.Cache getCache(String name) {
+    return caches.computeIfAbsent(name, this::createCache);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return caches.keySet();
+  }
+
+  private TwoTierCache createCache(String name) {
+    org.springframework.cache.Cache remote = remoteCacheManager.getCache(name);
+    if (remote == null) {
+      throw new IllegalStateException("No remote cache named " + name);
+    }
+    TwoTierCacheProperties.Local settings = properties.localFor(name);
+    Cache<String, org.springframework.cache.Cache.ValueWrapper> local = CacheBuilder.newBuilder()
+        .maximumSize(settings.getMaxEntries())
+        .expireAfterWrite(settings.getTtl().toMillis(), TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, local, name + ".l1");
+
+    TwoTierCache cache = new TwoTierCache(name, local, remote, invalidationBus);
+    invalidationBus.subscribe(name, key -> {
+      if (key == null) {
+        cache.clearLocal();
+      } else {
+        cache.evictLocal(key);
+      }
+    });
+    return cache;
+  }
+}
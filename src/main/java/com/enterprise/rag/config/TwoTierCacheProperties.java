@@ -0,0 +1,87 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the two-tier (local L1, Redis L2) cache manager ({@code app.cache}).
+ * Redis entry TTL comes from {@code spring.cache.redis.time-to-live}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class TwoTierCacheProperties {
+
+  /**
+   * Redis pub/sub channel carrying invalidations between instances.
+   */
+  private String invalidationChannel = "rag:cache:invalidation";
+
+  /**
+   * Encoding of values stored in Redis.
+   */
+  private Codec codec = Codec.BINARY;
+
+  /**
+   * With the binary codec, values whose encoding is larger than this are compressed.
+   */
+  private DataSize compressAbove = DataSize.ofKilobytes(1);
+
+  /**
+   * L1 settings for caches without an entry under {@link #caches}.
+   */
+  private Local local = new Local();
+
+  /**
+   * Per-cache L1 settings, keyed by cache name.
+   */
+  private Map<String, Local> caches = new HashMap<>();
+
+  /**
+   * Get the L1 settings of a cache.
+   *
+   * @param cacheName the cache name
+   * @return its own settings, or the defaults
+   */
+  public Local localFor(String cacheName) {
+    return caches.getOrDefault(cacheName, local);
+  }
+
+  /**
+   * Redis value encodings.
+   */
+  public enum Codec {
+    /**
+     * Smile with raw float vectors and optional compression ({@link BinaryRedisSerializer}).
+     */
+    BINARY,
+    /**
+     * JSON with embedded class names, readable with redis-cli.
+     */
+    JSON,
+    /**
+     * Java serialization, Spring Data Redis' default; values must be {@code Serializable}.
+     */
+    JDK
+  }
+
+  /**
+   * Settings for one in-process L1 cache.
+   */
+  @Data
+  public static class Local {
+
+    private long maxEntries = 10000;
+
+    /**
+     * Upper bound on L1 staleness should an invalidation message be lost.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+  }
+}
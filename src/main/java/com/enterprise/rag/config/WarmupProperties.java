@@ -0,0 +1,58 @@
+package com.enterprise.rag.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the startup cache warm-up ({@code app.warmup}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * Where the queries to replay come from.
+   */
+  private Source source = Source.MESSAGES;
+
+  /**
+   * JSON-lines file of recorded chat requests, for {@link Source#QUERY_LOG}.
+   */
+  private String queryLog = "";
+
+  /**
+   * With {@link Source#MESSAGES}, only queries asked within this window are considered.
+   */
+  private Duration lookback = Duration.ofDays(1);
+
+  /**
+   * Number of most frequent queries replayed.
+   */
+  private int topQueries = 200;
+
+  /**
+   * Queries replayed in parallel.
+   */
+  private int concurrency = 4;
+
+  /**
+   * Readiness is reported after this long even if the warm-up has not finished.
+   */
+  private Duration timeout = Duration.ofMinutes(2);
+
+  /**
+   * Sources of warm-up queries.
+   */
+  public enum Source {
+    /** Recent user messages. */
+    MESSAGES,
+    /** A recorded request log. */
+    QUERY_LOG
+  }
+}
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,7 +40,7 @@ public class Conversation {
   @Column(name = "updated_at", nullable = false)
   private LocalDateTime updatedAt;
 
-  @JdbcTypeCode(SqlTypes.JSON)
+  @Type(JsonbMapType.class)
   @Column(columnDefinition = "jsonb")
   private Map<String, Object> metadata;
 
@@ -49,6 +48,21 @@ public class Conversation {
   @Builder.Default
   private String status = "active";
 
+  /**
+   * Counters maintained by {@code ConversationRepository.recordMessages}; never written by
+   * entity updates so a stale copy cannot overwrite concurrent increments.
+   */
+  @Column(name = "message_count", nullable = false, updatable = false)
+  @Builder.Default
+  private Integer messageCount = 0;
+
+  @Column(name = "total_tokens", nullable = false, updatable = false)
+  @Builder.Default
+  private Long totalTokens = 0L;
+
+  @Column(name = "last_message_at", updatable = false)
+  private LocalDateTime lastMessageAt;
+
   @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL, orphanRemoval = true)
   @Builder.Default
   private List<Message> messages = new ArrayList<>();
@@ -64,6 +78,18 @@ public class Conversation {
     updatedAt = LocalDateTime.now();
   }
 
+  /**
+   * Apply a message write to the in-memory counters after the database increment,
+   * so the entity reflects it for the rest of the transaction.
+   */
+  public void applyMessageWritten(int tokenCount, LocalDateTime timestamp) {
+    messageCount = messageCount + 1;
+    totalTokens = totalTokens + tokenCount;
+    if (lastMessageAt == null || lastMessageAt.isBefore(timestamp)) {
+      lastMessageAt = timestamp;
+    }
+  }
+
   public void addMessage(Message message) {
     messages.add(message);
     message.setConversation(this);
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -53,7 +52,7 @@ public class DocumentChunk {
   @Builder.Default
   private LocalDateTime createdAt = LocalDateTime.now();
 
-  @JdbcTypeCode(SqlTypes.JSON)
+  @Type(JsonbMapType.class)
   @Column(columnDefinition = "jsonb")
   private Map<String, Object> metadata;
 
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -22,13 +23,17 @@ import java.util.UUID;
 public class Embedding {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidV7Id
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "chunk_id", nullable = false)
   private DocumentChunk chunk;
 
+  /**
+   * Stored as {@code vector(1536)} or {@code halfvec(1536)}, see R__embedding_storage.sql.
+   */
+  @Type(VectorType.class)
   @Column(columnDefinition = "vector(1536)")
   private float[] embedding;
 
@@ -0,0 +1,94 @@
+package com.enterprise.rag.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Map;
+
+/**
+ * Hibernate type for jsonb metadata columns, loaded as {@link LazyJsonMap}.
+ *
+ * <p>Dirty checking compares unparsed snapshots by their raw text, so entities whose metadata
+ * is never touched are neither parsed on load nor rewritten on flush.
+ */
+public class JsonbMapType implements UserType<Map<String, Object>> {
+
+  @Override
+  public int getSqlType() {
+    return Types.OTHER;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Class<Map<String, Object>> returnedClass() {
+    return (Class<Map<String, Object>>) (Class<?>) Map.class;
+  }
+
+  @Override
+  public boolean equals(Map<String, Object> x, Map<String, Object> y) {
+    if (x == y) {
+      return true;
+    }
+    if (x == null || y == null) {
+      return false;
+    }
+    if (x instanceof LazyJsonMap lazyX && y instanceof LazyJsonMap lazyY && lazyX.sameRaw(lazyY)) {
+      return true;
+    }
+    return x.equals(y);
+  }
+
+  @Override
+  public int hashCode(Map<String, Object> x) {
+    return x.hashCode();
+  }
+
+  @Override
+  public Map<String, Object> nullSafeGet(ResultSet rs, int position,
+                                         SharedSessionContractImplementor session, Object owner)
+      throws SQLException {
+    String json = rs.getString(position);
+    return json != null ? new LazyJsonMap(json) : null;
+  }
+
+  @Override
+  public void nullSafeSet(PreparedStatement st, Map<String, Object> value, int index,
+                          SharedSessionContractImplementor session) throws SQLException {
+    if (value == null) {
+      st.setNull(index, Types.OTHER);
+    } else {
+      st.setObject(index, LazyJsonMap.toJson(value), Types.OTHER);
+    }
+  }
+
+  @Override
+  public Map<String, Object> deepCopy(Map<String, Object> value) {
+    return value != null ? new LazyJsonMap(LazyJsonMap.toJson(value)) : null;
+  }
+
+  @Override
+  public boolean isMutable() {
+    return true;
+  }
+
+  @Override
+  public Serializable disassemble(Map<String, Object> value) {
+    return value != null ? LazyJsonMap.toJson(value) : null;
+  }
+
+  @Override
+  public Map<String, Object> assemble(Serializable cached, Object owner) {
+    return cached != null ? new LazyJsonMap((String) cached) : null;
+  }
+
+  @Override
+  public Map<String, Object> replace(Map<String, Object> detached, Map<String, Object> managed,
+                                     Object owner) {
+    return deepCopy(detached);
+  }
+}
@@ -0,0 +1,165 @@
+package com.enterprise.rag.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON object map that keeps the raw JSON text as loaded from a jsonb column and only parses
+ * it on first access.
+ *
+ * <p>Entities loaded for anything other than their metadata never pay for parsing it into
+ * nested maps. Written back unmodified, and serialized by Jackson, the raw text is reused as-is.
+ * Like the entities holding it, an instance is not thread-safe.
+ */
+@JsonSerialize(using = LazyJsonMap.Serializer.class)
+public class LazyJsonMap extends AbstractMap<String, Object> {
+
+  static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+  private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+  private String raw;
+  private Map<String, Object> parsed;
+
+  public LazyJsonMap(String raw) {
+    this.raw = raw;
+  }
+
+  /**
+   * Serialize a map as JSON, reusing the raw text of an unparsed {@link LazyJsonMap}.
+   *
+   * @param value the map
+   * @return the JSON text
+   */
+  public static String toJson(Map<String, ?> value) {
+    if (value instanceof LazyJsonMap lazy && !lazy.isParsed()) {
+      return lazy.raw;
+    }
+    try {
+      return MAPPER.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Metadata is not serializable as JSON: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Check whether the JSON has been parsed, i.e. the map was accessed.
+   *
+   * @return true once parsed
+   */
+  public boolean isParsed() {
+    return parsed != null;
+  }
+
+  /**
+   * Check whether two maps hold the same unparsed JSON text, without parsing either.
+   */
+  boolean sameRaw(LazyJsonMap other) {
+    return !isParsed() && !other.isParsed() && raw.equals(other.raw);
+  }
+
+  private Map<String, Object> delegate() {
+    if (parsed == null) {
+      try {
+        parsed = MAPPER.readValue(raw, MAP_TYPE);
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Stored metadata is not a JSON object: " + e.getMessage(), e);
+      }
+      raw = null;
+    }
+    return parsed;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return delegate().entrySet();
+  }
+
+  @Override
+  public int size() {
+    return delegate().size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return delegate().containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    return delegate().get(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    return delegate().put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    return delegate().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate().clear();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof LazyJsonMap lazy && sameRaw(lazy)) {
+      return true;
+    }
+    return super.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  /**
+   * Writes unparsed JSON through as raw text on textual generators.
+   */
+  static final class Serializer extends StdSerializer<LazyJsonMap> {
+
+    Serializer() {
+      super(LazyJsonMap.class);
+    }
+
+    @Override
+    public void serialize(LazyJsonMap value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      if (!value.isParsed() && !generator.canWriteBinaryNatively()) {
+        generator.writeRawValue(value.raw);
+      } else {
+        provider.defaultSerializeValue(value.delegate(), generator);
+      }
+    }
+
+    /**
+     * With type information (polymorphic cache codecs), write the parsed map typed as the
+     * {@link LinkedHashMap} it deserializes to.
+     */
+    @Override
+    public void serializeWithType(LazyJsonMap value, JsonGenerator generator,
+                                  SerializerProvider provider, TypeSerializer typeSerializer)
+        throws IOException {
+      Map<String, Object> map = value.delegate();
+      provider.findPrimaryPropertySerializer(map.getClass(), null)
+          .serializeWithType(map, generator, provider, typeSerializer);
+    }
+  }
+}
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -24,7 +23,7 @@ import java.util.UUID;
 public class Message {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidV7Id
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -44,7 +43,7 @@ public class Message {
   @Column(name = "token_count")
   private Integer tokenCount;
 
-  @JdbcTypeCode(SqlTypes.JSON)
+  @Type(JsonbMapType.class)
   @Column(columnDefinition = "jsonb")
   private Map<String, Object> metadata;
 
@@ -24,7 +24,7 @@ import java.util.UUID;
 public class ToolInvocation {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidV7Id
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -59,6 +59,10 @@ public class ToolInvocation {
   @Column(name = "execution_time_ms")
   private Integer executionTimeMs;
 
+  @Column(name = "cache_hit", nullable = false)
+  @Builder.Default
+  private Boolean cacheHit = false;
+
   @PrePersist
   protected void onCreate() {
     if (startedAt == null) {
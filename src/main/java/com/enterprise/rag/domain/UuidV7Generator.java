@@ -0,0 +1,33 @@
+package com.enterprise.rag.domain;
+
+import com.enterprise.rag.util.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate ID generator behind {@link UuidV7Id}.
+ * An ID already set on the entity is kept, so callers may assign IDs ahead of persisting.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+  public UuidV7Generator(UuidV7Id config, Member member, CustomIdGeneratorCreationContext context) {
+    // No configuration
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner,
+                         Object currentValue, EventType eventType) {
+    return currentValue != null ? currentValue : UuidV7.next();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+}
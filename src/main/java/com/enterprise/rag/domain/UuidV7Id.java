@@ -0,0 +1,18 @@
+package com.enterprise.rag.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity ID generated as a time-ordered UUIDv7 by {@link UuidV7Generator}.
+ * Use instead of {@code @GeneratedValue(strategy = GenerationType.UUID)} on write-heavy tables.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7Id {
+}
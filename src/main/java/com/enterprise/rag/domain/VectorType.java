@@ -0,0 +1,119 @@
+package com.enterprise.rag.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Hibernate type mapping {@code float[]} to a pgvector column.
+ *
+ * <p>Vectors travel as pgvector text literals ({@code [0.1,0.2]}) bound as untyped parameters,
+ * so Postgres converts them to whatever the column is: {@code vector} (4-byte floats) or
+ * {@code halfvec} (2-byte floats) depending on {@code app.rag.embedding-storage}. Both read
+ * back in the same literal format.
+ */
+public class VectorType implements UserType<float[]> {
+
+  /**
+   * Format a vector as a pgvector literal, e.g. {@code [0.1,0.2]}.
+   *
+   * @param vector the vector
+   * @return the literal
+   */
+  public static String toLiteral(float[] vector) {
+    StringBuilder sb = new StringBuilder(vector.length * 8);
+    sb.append('[');
+    for (int i = 0; i < vector.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(vector[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * Parse a pgvector literal.
+   *
+   * @param literal the literal, e.g. {@code [0.1,0.2]}
+   * @return the vector
+   */
+  public static float[] fromLiteral(String literal) {
+    String body = literal.strip();
+    if (body.length() < 2 || body.charAt(0) != '[' || body.charAt(body.length() - 1) != ']') {
+      throw new IllegalArgumentException("Not a vector literal: " + literal);
+    }
+    if (body.length() == 2) {
+      return new float[0];
+    }
+    String[] parts = body.substring(1, body.length() - 1).split(",");
+    float[] vector = new float[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      vector[i] = Float.parseFloat(parts[i]);
+    }
+    return vector;
+  }
+
+  @Override
+  public int getSqlType() {
+    return Types.OTHER;
+  }
+
+  @Override
+  public Class<float[]> returnedClass() {
+    return float[].class;
+  }
+
+  @Override
+  public boolean equals(float[] x, float[] y) {
+    return Arrays.equals(x, y);
+  }
+
+  @Override
+  public int hashCode(float[] x) {
+    return Arrays.hashCode(x);
+  }
+
+  @Override
+  public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session,
+                             Object owner) throws SQLException {
+    String literal = rs.getString(position);
+    return literal != null ? fromLiteral(literal) : null;
+  }
+
+  @Override
+  public void nullSafeSet(PreparedStatement st, float[] value, int index,
+                          SharedSessionContractImplementor session) throws SQLException {
+    if (value == null) {
+      st.setNull(index, Types.OTHER);
+    } else {
+      st.setObject(index, toLiteral(value), Types.OTHER);
+    }
+  }
+
+  @Override
+  public float[] deepCopy(float[] value) {
+    return value != null ? value.clone() : null;
+  }
+
+  @Override
+  public boolean isMutable() {
+    return true;
+  }
+
+  @Override
+  public Serializable disassemble(float[] value) {
+    return deepCopy(value);
+  }
+
+  @Override
+  public float[] assemble(Serializable cached, Object owner) {
+    return deepCopy((float[]) cached);
+  }
+}
@@ -0,0 +1,54 @@
+package com.enterprise.rag.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A cloud engine job as reported by the job status API and job callbacks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CloudJob {
+
+  public static final String STATUS_COMPLETED = "completed";
+  public static final String STATUS_FAILED = "failed";
+
+  private String jobId;
+
+  private String name;
+
+  /**
+   * Job status: "pending", "running", "completed" or "failed".
+   */
+  private String status;
+
+  private String createdAt;
+
+  private String startedAt;
+
+  private String completedAt;
+
+  private Map<String, Object> result;
+
+  private String error;
+
+  /**
+   * Check whether the job has finished, successfully or not.
+   *
+   * @return true if the status is terminal
+   */
+  public boolean isTerminal() {
+    return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+  }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.rag.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request to submit a cloud engine job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CloudJobRequest {
+
+  private String name;
+
+  @Builder.Default
+  private Map<String, Object> parameters = new HashMap<>();
+
+  private Integer timeoutSeconds;
+
+  /**
+   * URL the engine POSTs the finished job to (optional).
+   */
+  private String callbackUrl;
+}
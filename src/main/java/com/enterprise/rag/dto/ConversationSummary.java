@@ -0,0 +1,49 @@
+package com.enterprise.rag.dto;
+
+import com.enterprise.rag.domain.Conversation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A conversation in a history listing, without its messages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummary {
+
+  private UUID id;
+
+  private String userId;
+
+  private String title;
+
+  private String status;
+
+  private Integer messageCount;
+
+  private Long totalTokens;
+
+  private LocalDateTime createdAt;
+
+  private LocalDateTime lastMessageAt;
+
+  public static ConversationSummary from(Conversation conversation) {
+    return ConversationSummary.builder()
+        .id(conversation.getId())
+        .userId(conversation.getUserId())
+        .title(conversation.getTitle())
+        .status(conversation.getStatus())
+        .messageCount(conversation.getMessageCount())
+        .totalTokens(conversation.getTotalTokens())
+        .createdAt(conversation.getCreatedAt())
+        .lastMessageAt(conversation.getLastMessageAt())
+        .build();
+  }
+}
@@ -0,0 +1,41 @@
+package com.enterprise.rag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> item type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> items;
+
+  /**
+   * Cursor for the next page, or null if this is the last page.
+   */
+  private String nextCursor;
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+
+  /**
+   * Convert the items, keeping the cursor.
+   *
+   * @param mapper item conversion
+   * @param <R> converted item type
+   * @return the converted page
+   */
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+  }
+}
@@ -0,0 +1,51 @@
+package com.enterprise.rag.dto;
+
+import com.enterprise.rag.domain.AgentExecution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An agent execution in a history listing, without its data and tool invocations.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionSummary {
+
+  private UUID id;
+
+  private UUID conversationId;
+
+  private String agentType;
+
+  private String status;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime completedAt;
+
+  private Integer executionTimeMs;
+
+  private String errorMessage;
+
+  public static ExecutionSummary from(AgentExecution execution) {
+    return ExecutionSummary.builder()
+        .id(execution.getId())
+        .conversationId(execution.getConversation() != null
+            ? execution.getConversation().getId()
+            : null)
+        .agentType(execution.getAgentType())
+        .status(execution.getStatus())
+        .startedAt(execution.getStartedAt())
+        .completedAt(execution.getCompletedAt())
+        .executionTimeMs(execution.getExecutionTimeMs())
+        .errorMessage(execution.getErrorMessage())
+        .build();
+  }
+}
@@ -0,0 +1,42 @@
+package com.enterprise.rag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latency percentiles of one agent type or tool over the stats window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencySummary {
+
+  /**
+   * "agent" or "tool".
+   */
+  private String subjectType;
+
+  private String subjectName;
+
+  private long count;
+
+  private double meanMs;
+
+  private long p50Ms;
+
+  private long p95Ms;
+
+  private long p99Ms;
+
+  private long maxMs;
+
+  /**
+   * When the summary was computed.
+   */
+  private LocalDateTime asOf;
+}
@@ -0,0 +1,44 @@
+package com.enterprise.rag.dto;
+
+import com.enterprise.rag.domain.Message;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A message in a conversation history listing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageView {
+
+  private UUID id;
+
+  private String role;
+
+  private String content;
+
+  private Integer tokenCount;
+
+  private Map<String, Object> metadata;
+
+  private LocalDateTime timestamp;
+
+  public static MessageView from(Message message) {
+    return MessageView.builder()
+        .id(message.getId())
+        .role(message.getRole())
+        .content(message.getContent())
+        .tokenCount(message.getTokenCount())
+        .metadata(message.getMetadata())
+        .timestamp(message.getTimestamp())
+        .build();
+  }
+}
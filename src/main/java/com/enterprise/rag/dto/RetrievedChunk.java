@@ -0,0 +1,55 @@
+package com.enterprise.rag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A document chunk returned by retrieval together with its relevance score.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetrievedChunk {
+
+  private UUID chunkId;
+
+  /**
+   * IDs of every chunk in a merged passage, in document order; null for a single chunk.
+   */
+  private List<UUID> mergedChunkIds;
+
+  private UUID documentId;
+
+  private Integer chunkIndex;
+
+  private String content;
+
+  private Integer tokenCount;
+
+  /**
+   * When the chunk was stored; for a merged passage, the latest of its chunks. Chunks are never
+   * updated, so together with {@link #passageChunkIds()} this versions the content.
+   */
+  private LocalDateTime createdAt;
+
+  /**
+   * Cosine similarity to the query (higher is more relevant).
+   */
+  private double score;
+
+  /**
+   * IDs of the chunks this passage is made of.
+   *
+   * @return the merged chunk IDs, or just {@link #chunkId} for a single chunk
+   */
+  public List<UUID> passageChunkIds() {
+    return mergedChunkIds != null ? mergedChunkIds : List.of(chunkId);
+  }
+}
@@ -0,0 +1,40 @@
+package com.enterprise.rag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A planned tool call within an agent execution.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolCall {
+
+  /**
+   * Identifier of the call, unique within the plan.
+   */
+  private String id;
+
+  private String toolName;
+
+  private Map<String, Object> inputParams;
+
+  /**
+   * IDs of calls whose results this call needs before it can start.
+   */
+  @Builder.Default
+  private List<String> dependsOn = new ArrayList<>();
+
+  /**
+   * Per-call timeout override in milliseconds (null to use the tool default).
+   */
+  private Long timeoutMs;
+}
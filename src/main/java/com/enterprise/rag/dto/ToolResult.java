@@ -0,0 +1,42 @@
+package com.enterprise.rag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Result of one tool call, published as soon as the call finishes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolResult {
+
+  private String callId;
+
+  private String toolName;
+
+  /**
+   * Final status: "completed" or "failed".
+   */
+  private String status;
+
+  private Map<String, Object> output;
+
+  private String errorMessage;
+
+  /**
+   * Time the tool actually ran, excluding queueing and dependency waits.
+   */
+  private Integer executionTimeMs;
+
+  /**
+   * Whether the output was served from the tool result cache.
+   */
+  @Builder.Default
+  private Boolean cacheHit = false;
+}
@@ -2,6 +2,7 @@ package com.enterprise.rag.exception;
 
 import com.enterprise.rag.util.ErrorHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -112,6 +113,27 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
   }
 
+  /**
+   * Handle ServiceOverloadedException for shed requests.
+   * REQ-ERR-012: Return 503 with Retry-After so clients back off instead of piling up.
+   */
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+      ServiceOverloadedException ex) {
+
+    ErrorResponse response = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .error("Service Unavailable")
+        .message(ex.getMessage())
+        .build();
+
+    log.debug("Request shed: {}", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(response);
+  }
+
   /**
    * Handle all other exceptions.
    * REQ-ERR-005: Log unexpected exceptions and return generic error message.
@@ -0,0 +1,21 @@
+package com.enterprise.rag.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is shed because a concurrency limit is reached.
+ * REQ-ERR-012: Custom exception for 503 load-shedding scenarios.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+  /**
+   * Suggested delay before the client retries, in seconds.
+   */
+  private final long retryAfterSeconds;
+
+  public ServiceOverloadedException(String limiterName, long retryAfterSeconds) {
+    super("Service is overloaded (" + limiterName + "), please retry later");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -4,11 +4,13 @@ import com.enterprise.rag.domain.AgentExecution;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,14 +22,51 @@ public interface AgentExecutionRepository extends JpaRepository<AgentExecution,
 
   /**
    * Find executions by conversation.
+   * Scans every monthly partition; prefer the bounded variant when the start is known.
    */
   List<AgentExecution> findByConversationIdOrderByStartedAtDesc(UUID conversationId);
 
+  /**
+   * Find a conversation's executions from a point in time, pruning older partitions.
+   */
+  List<AgentExecution> findByConversationIdAndStartedAtGreaterThanEqualOrderByStartedAtDesc(
+      UUID conversationId, LocalDateTime since);
+
   /**
    * Find executions by agent type.
    */
   Page<AgentExecution> findByAgentType(String agentType, Pageable pageable);
 
+  /**
+   * First keyset page of executions of an agent type, newest first.
+   * Served by idx_agent_executions_type_started_id.
+   */
+  @Query(value = "SELECT * FROM rag.agent_executions e " +
+                 "WHERE e.agent_type = :agentType " +
+                 "ORDER BY e.started_at DESC, e.id DESC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<AgentExecution> findFirstPageByAgentType(
+      @Param("agentType") String agentType,
+      @Param("limit") int limit);
+
+  /**
+   * Keyset page of executions of an agent type strictly after the (startedAt, id) position.
+   * The plain started_at bound lets the planner prune newer partitions.
+   */
+  @Query(value = "SELECT * FROM rag.agent_executions e " +
+                 "WHERE e.agent_type = :agentType " +
+                 "AND e.started_at <= :startedAt " +
+                 "AND (e.started_at, e.id) < (:startedAt, :id) " +
+                 "ORDER BY e.started_at DESC, e.id DESC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<AgentExecution> findPageByAgentTypeAfter(
+      @Param("agentType") String agentType,
+      @Param("startedAt") LocalDateTime startedAt,
+      @Param("id") UUID id,
+      @Param("limit") int limit);
+
   /**
    * Find executions by status.
    */
@@ -47,6 +86,8 @@ public interface AgentExecutionRepository extends JpaRepository<AgentExecution,
 
   /**
    * Calculate average execution time by agent type.
+   * Scans every matching row; live percentiles per agent type are served by
+   * {@link com.enterprise.rag.service.LatencyStatsService}.
    */
   @Query("SELECT AVG(e.executionTimeMs) FROM AgentExecution e WHERE e.agentType = :agentType AND e.executionTimeMs IS NOT NULL")
   Double getAverageExecutionTime(@Param("agentType") String agentType);
@@ -55,4 +96,15 @@ public interface AgentExecutionRepository extends JpaRepository<AgentExecution,
    * Count executions by status.
    */
   long countByStatus(String status);
+
+  /**
+   * Delete all executions of the given conversations in one statement.
+   * Delete their tool invocations first; there is no foreign key to cascade them.
+   *
+   * @return number of executions deleted
+   */
+  @Modifying
+  @Query(value = "DELETE FROM rag.agent_executions WHERE conversation_id IN (:conversationIds)",
+         nativeQuery = true)
+  int bulkDeleteByConversationIds(@Param("conversationIds") Collection<UUID> conversationIds);
 }
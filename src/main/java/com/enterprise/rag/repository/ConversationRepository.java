@@ -4,11 +4,13 @@ import com.enterprise.rag.domain.Conversation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +31,34 @@ public interface ConversationRepository extends JpaRepository<Conversation, UUID
    */
   Page<Conversation> findByUserId(String userId, Pageable pageable);
 
+  /**
+   * First keyset page of a user's conversations, newest first.
+   * Served by idx_conversations_user_created_id.
+   */
+  @Query(value = "SELECT * FROM rag.conversations c " +
+                 "WHERE c.user_id = :userId " +
+                 "ORDER BY c.created_at DESC, c.id DESC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<Conversation> findFirstPageByUserId(
+      @Param("userId") String userId,
+      @Param("limit") int limit);
+
+  /**
+   * Keyset page of a user's conversations strictly after the (createdAt, id) position.
+   */
+  @Query(value = "SELECT * FROM rag.conversations c " +
+                 "WHERE c.user_id = :userId " +
+                 "AND (c.created_at, c.id) < (:createdAt, :id) " +
+                 "ORDER BY c.created_at DESC, c.id DESC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<Conversation> findPageByUserIdAfter(
+      @Param("userId") String userId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") UUID id,
+      @Param("limit") int limit);
+
   /**
    * Find all conversations by status.
    */
@@ -55,4 +85,58 @@ public interface ConversationRepository extends JpaRepository<Conversation, UUID
    * Count conversations by user.
    */
   long countByUserId(String userId);
+
+  /**
+   * Atomically add written messages to a conversation's counters.
+   * Must be called in the transaction that writes the messages.
+   *
+   * @return number of conversations updated (0 if it does not exist)
+   */
+  @Modifying
+  @Query("UPDATE Conversation c SET c.messageCount = c.messageCount + :messages, " +
+         "c.totalTokens = c.totalTokens + :tokens, " +
+         "c.lastMessageAt = CASE WHEN c.lastMessageAt IS NULL OR c.lastMessageAt < :timestamp " +
+         "THEN :timestamp ELSE c.lastMessageAt END " +
+         "WHERE c.id = :id")
+  int recordMessages(
+      @Param("id") UUID id,
+      @Param("messages") int messages,
+      @Param("tokens") long tokens,
+      @Param("timestamp") LocalDateTime timestamp);
+
+  /**
+   * Lock up to {@code limit} of a user's conversations for purging, skipping conversations
+   * locked by in-flight chat requests.
+   */
+  @Query(value = "SELECT c.id FROM rag.conversations c " +
+         "WHERE c.user_id = :userId " +
+         "LIMIT :limit FOR UPDATE SKIP LOCKED",
+         nativeQuery = true)
+  List<UUID> lockPurgeBatchByUserId(
+      @Param("userId") String userId,
+      @Param("limit") int limit);
+
+  /**
+   * Lock up to {@code limit} conversations with no activity since the cutoff for purging,
+   * oldest first, skipping conversations locked by in-flight chat requests.
+   */
+  @Query(value = "SELECT c.id FROM rag.conversations c " +
+         "WHERE COALESCE(c.last_message_at, c.created_at) < :cutoff " +
+         "ORDER BY COALESCE(c.last_message_at, c.created_at) " +
+         "LIMIT :limit FOR UPDATE SKIP LOCKED",
+         nativeQuery = true)
+  List<UUID> lockPurgeBatchInactiveBefore(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("limit") int limit);
+
+  /**
+   * Delete conversations in one statement. Messages go with them by ON DELETE CASCADE, but
+   * deleting them first with {@link MessageRepository#bulkDeleteByConversationIds} keeps the
+   * cascade from firing row by row.
+   *
+   * @return number of conversations deleted
+   */
+  @Modifying
+  @Query(value = "DELETE FROM rag.conversations WHERE id IN (:ids)", nativeQuery = true)
+  int bulkDeleteByIds(@Param("ids") Collection<UUID> ids);
 }
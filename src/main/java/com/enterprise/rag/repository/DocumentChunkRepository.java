@@ -28,6 +28,32 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
       @Param("documentId") UUID documentId,
       @Param("index") Integer index);
 
+  /**
+   * Find chunks whose metadata contains the given JSON object ({@code metadata @> filter}).
+   * Served by the GIN index on metadata.
+   */
+  @Query(value = "SELECT * FROM rag.document_chunks " +
+      "WHERE metadata @> CAST(:filter AS jsonb)", nativeQuery = true)
+  List<DocumentChunk> findByMetadataContaining(@Param("filter") String filter);
+
+  /**
+   * Find a document's chunks whose metadata contains the given JSON object, ordered by index.
+   */
+  @Query(value = "SELECT * FROM rag.document_chunks " +
+      "WHERE document_id = :documentId AND metadata @> CAST(:filter AS jsonb) " +
+      "ORDER BY chunk_index", nativeQuery = true)
+  List<DocumentChunk> findByDocumentIdAndMetadataContaining(
+      @Param("documentId") UUID documentId,
+      @Param("filter") String filter);
+
+  /**
+   * Find chunks whose metadata has a top-level key with the given string value.
+   */
+  @Query(value = "SELECT * FROM rag.document_chunks " +
+      "WHERE metadata @> jsonb_build_object(CAST(:key AS text), CAST(:value AS text))",
+      nativeQuery = true)
+  List<DocumentChunk> findByMetadataValue(@Param("key") String key, @Param("value") String value);
+
   /**
    * Count chunks for a document.
    */
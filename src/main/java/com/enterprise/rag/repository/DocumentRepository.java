@@ -51,6 +51,24 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
   @Query("SELECT d FROM Document d LEFT JOIN FETCH d.chunks WHERE d.id = :id")
   Optional<Document> findByIdWithChunks(@Param("id") UUID id);
 
+  /**
+   * Find documents whose metadata contains the given JSON object ({@code metadata @> filter}).
+   * Served by the GIN index on metadata; build the filter with
+   * {@link com.enterprise.rag.domain.LazyJsonMap#toJson(java.util.Map)}.
+   */
+  @Query(value = "SELECT * FROM rag.documents " +
+      "WHERE metadata @> CAST(:filter AS jsonb) " +
+      "ORDER BY created_at DESC", nativeQuery = true)
+  List<Document> findByMetadataContaining(@Param("filter") String filter);
+
+  /**
+   * Find documents whose metadata has a top-level key with the given string value.
+   */
+  @Query(value = "SELECT * FROM rag.documents " +
+      "WHERE metadata @> jsonb_build_object(CAST(:key AS text), CAST(:value AS text)) " +
+      "ORDER BY created_at DESC", nativeQuery = true)
+  List<Document> findByMetadataValue(@Param("key") String key, @Param("value") String value);
+
   /**
    * Count documents by status.
    */
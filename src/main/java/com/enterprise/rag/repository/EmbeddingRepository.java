@@ -42,6 +42,22 @@ public interface EmbeddingRepository extends JpaRepository<Embedding, UUID> {
       @Param("modelName") String modelName,
       @Param("limit") int limit);
 
+  /**
+   * Cosine similarity search for {@code halfvec} storage.
+   * The query vector must be cast to the column type for the HNSW index to be used.
+   */
+  @Query(value = "SELECT e.id, e.chunk_id, e.embedding, e.model_name, e.created_at, " +
+                 "1 - (e.embedding <=> CAST(:queryVector AS halfvec)) AS similarity " +
+                 "FROM rag.embeddings e " +
+                 "WHERE e.model_name = :modelName " +
+                 "ORDER BY e.embedding <=> CAST(:queryVector AS halfvec) " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<Object[]> findSimilarEmbeddingsCosineHalf(
+      @Param("queryVector") String queryVector,
+      @Param("modelName") String modelName,
+      @Param("limit") int limit);
+
   /**
    * Vector similarity search using L2 (Euclidean) distance.
    */
@@ -4,11 +4,13 @@ import com.enterprise.rag.domain.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,14 +22,55 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
   /**
    * Find all messages for a conversation.
+   * Scans every monthly partition; prefer the bounded variant when the start is known.
    */
   List<Message> findByConversationIdOrderByTimestampAsc(UUID conversationId);
 
+  /**
+   * Find a conversation's messages from a point in time, typically the conversation's
+   * creation time, so partitions older than the conversation are pruned.
+   */
+  List<Message> findByConversationIdAndTimestampGreaterThanEqualOrderByTimestampAsc(
+      UUID conversationId, LocalDateTime since);
+
   /**
    * Find messages by conversation with pagination.
    */
   Page<Message> findByConversationId(UUID conversationId, Pageable pageable);
 
+  /**
+   * First keyset page of a conversation's messages, oldest first.
+   * Served by idx_messages_conversation_timestamp_id; {@code since} (the conversation's
+   * creation time) prunes older partitions.
+   */
+  @Query(value = "SELECT * FROM rag.messages m " +
+                 "WHERE m.conversation_id = :conversationId " +
+                 "AND m.timestamp >= :since " +
+                 "ORDER BY m.timestamp ASC, m.id ASC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<Message> findFirstPageByConversationId(
+      @Param("conversationId") UUID conversationId,
+      @Param("since") LocalDateTime since,
+      @Param("limit") int limit);
+
+  /**
+   * Keyset page of a conversation's messages strictly after the (timestamp, id) position.
+   * The plain timestamp bound lets the planner prune older partitions.
+   */
+  @Query(value = "SELECT * FROM rag.messages m " +
+                 "WHERE m.conversation_id = :conversationId " +
+                 "AND m.timestamp >= :timestamp " +
+                 "AND (m.timestamp, m.id) > (:timestamp, :id) " +
+                 "ORDER BY m.timestamp ASC, m.id ASC " +
+                 "LIMIT :limit",
+         nativeQuery = true)
+  List<Message> findPageByConversationIdAfter(
+      @Param("conversationId") UUID conversationId,
+      @Param("timestamp") LocalDateTime timestamp,
+      @Param("id") UUID id,
+      @Param("limit") int limit);
+
   /**
    * Find messages by role in a conversation.
    */
@@ -44,12 +87,24 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
   /**
    * Count messages in a conversation.
+   * Scans the conversation's messages; use {@code Conversation.getMessageCount()} on hot paths.
    */
   long countByConversationId(UUID conversationId);
 
   /**
    * Sum token counts for a conversation.
+   * Scans the conversation's messages; use {@code Conversation.getTotalTokens()} on hot paths.
    */
   @Query("SELECT COALESCE(SUM(m.tokenCount), 0) FROM Message m WHERE m.conversation.id = :conversationId")
   long sumTokenCountByConversationId(@Param("conversationId") UUID conversationId);
+
+  /**
+   * Delete all messages of the given conversations in one statement.
+   *
+   * @return number of messages deleted
+   */
+  @Modifying
+  @Query(value = "DELETE FROM rag.messages WHERE conversation_id IN (:conversationIds)",
+         nativeQuery = true)
+  int bulkDeleteByConversationIds(@Param("conversationIds") Collection<UUID> conversationIds);
 }
@@ -2,10 +2,13 @@ package com.enterprise.rag.repository;
 
 import com.enterprise.rag.domain.ToolInvocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,9 +20,16 @@ public interface ToolInvocationRepository extends JpaRepository<ToolInvocation,
 
   /**
    * Find all invocations for an execution.
+   * Scans every monthly partition; prefer the bounded variant when the start is known.
    */
   List<ToolInvocation> findByExecutionIdOrderByStartedAtAsc(UUID executionId);
 
+  /**
+   * Find an execution's invocations from the execution's start time, pruning older partitions.
+   */
+  List<ToolInvocation> findByExecutionIdAndStartedAtGreaterThanEqualOrderByStartedAtAsc(
+      UUID executionId, LocalDateTime executionStartedAt);
+
   /**
    * Find invocations by tool name.
    */
@@ -35,9 +45,28 @@ public interface ToolInvocationRepository extends JpaRepository<ToolInvocation,
    */
   long countByToolName(String toolName);
 
+  /**
+   * Count invocations of a tool served from the tool result cache.
+   */
+  long countByToolNameAndCacheHitTrue(String toolName);
+
   /**
    * Calculate average execution time for a tool.
+   * Scans every matching row; live percentiles per tool are served by
+   * {@link com.enterprise.rag.service.LatencyStatsService}.
    */
   @Query("SELECT AVG(t.executionTimeMs) FROM ToolInvocation t WHERE t.toolName = :toolName AND t.executionTimeMs IS NOT NULL")
   Double getAverageExecutionTime(@Param("toolName") String toolName);
+
+  /**
+   * Delete all tool invocations of the given conversations' executions in one statement.
+   *
+   * @return number of tool invocations deleted
+   */
+  @Modifying
+  @Query(value = "DELETE FROM rag.tool_invocations t " +
+         "USING rag.agent_executions e " +
+         "WHERE t.execution_id = e.id AND e.conversation_id IN (:conversationIds)",
+         nativeQuery = true)
+  int bulkDeleteByConversationIds(@Param("conversationIds") Collection<UUID> conversationIds);
 }
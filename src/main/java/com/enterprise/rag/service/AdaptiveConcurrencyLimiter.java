@@ -0,0 +1,178 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.ConcurrencyLimitProperties;
+import com.enterprise.rag.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limiter using a latency gradient with multiplicative backoff.
+ *
+ * <p>The limit grows while observed latency stays close to the long-term RTT and shrinks in
+ * proportion once latency rises above it (queueing). Timeouts and downstream shedding cut the
+ * limit multiplicatively. Requests beyond the current limit are rejected immediately with
+ * {@link ServiceOverloadedException} instead of queueing on threads or pooled connections.
+ *
+ * <p>Exported meters (tag {@code name}): {@code rag.concurrency.limit},
+ * {@code rag.concurrency.in_flight} and {@code rag.concurrency.requests} with
+ * {@code outcome=accepted|rejected}.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double RTT_DRIFT_RATIO = 2.0;
+  private static final double RTT_DRIFT_DECAY = 0.95;
+
+  @Getter
+  private final String name;
+  private final ConcurrencyLimitProperties.Limiter settings;
+  private final boolean enabled;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter accepted;
+  private final Counter rejected;
+
+  private volatile double limit;
+  private double longRttNanos;
+  private long samples;
+
+  public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties.Limiter settings,
+                                    boolean enabled, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.settings = settings;
+    this.enabled = enabled;
+    this.limit = settings.getInitialLimit();
+
+    Gauge.builder("rag.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .tag("name", name)
+        .description("Current adaptive concurrency limit")
+        .register(meterRegistry);
+    Gauge.builder("rag.concurrency.in_flight", inFlight, AtomicInteger::get)
+        .tag("name", name)
+        .description("Requests currently holding a permit")
+        .register(meterRegistry);
+    this.accepted = Counter.builder("rag.concurrency.requests")
+        .tag("name", name)
+        .tag("outcome", "accepted")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("rag.concurrency.requests")
+        .tag("name", name)
+        .tag("outcome", "rejected")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Get the current concurrency limit.
+   *
+   * @return current limit
+   */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Get the number of requests currently in flight.
+   *
+   * @return in-flight count
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Run an action under the limiter.
+   *
+   * @param action the action to run
+   * @param <T> the result type
+   * @return the action's result
+   * @throws ServiceOverloadedException if the limit is reached
+   */
+  public <T> T execute(Supplier<T> action) {
+    if (!enabled) {
+      return action.get();
+    }
+
+    int current = inFlight.incrementAndGet();
+    if (current > getLimit()) {
+      inFlight.decrementAndGet();
+      rejected.increment();
+      throw new ServiceOverloadedException(name, retryAfterSeconds());
+    }
+    accepted.increment();
+
+    long start = System.nanoTime();
+    boolean measure = true;
+    boolean dropped = false;
+    try {
+      return action.get();
+    } catch (RuntimeException e) {
+      dropped = isOverloadSignal(e);
+      // Fast failures such as validation errors say nothing about downstream latency
+      measure = dropped;
+      throw e;
+    } finally {
+      inFlight.decrementAndGet();
+      if (measure) {
+        onSample(System.nanoTime() - start, current, dropped);
+      }
+    }
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+    double oldLimit = limit;
+    if (dropped) {
+      limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+      log.debug("Limiter {} backed off {} -> {}", name, (int) oldLimit, (int) limit);
+      return;
+    }
+
+    double rtt = Math.max(1L, rttNanos);
+    samples++;
+    int window = Math.max(1, settings.getLongWindow());
+    if (samples <= window) {
+      longRttNanos += (rtt - longRttNanos) / samples;
+    } else {
+      longRttNanos += (rtt - longRttNanos) / window;
+    }
+    // Let the baseline recover when latency drops well below it
+    if (longRttNanos / rtt > RTT_DRIFT_RATIO) {
+      longRttNanos *= RTT_DRIFT_DECAY;
+    }
+
+    // Do not grow a limit the application is not using
+    if (inFlightAtStart < oldLimit / 2) {
+      return;
+    }
+
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(1.0, settings.getRttTolerance() * longRttNanos / rtt));
+    double estimate = oldLimit * gradient + Math.sqrt(oldLimit);
+    double smoothed = oldLimit * (1 - settings.getSmoothing()) + estimate * settings.getSmoothing();
+    limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), smoothed));
+  }
+
+  private synchronized long retryAfterSeconds() {
+    return Math.max(1L, (long) Math.ceil(longRttNanos / 1_000_000_000.0));
+  }
+
+  private static boolean isOverloadSignal(Throwable error) {
+    for (Throwable t = error; t != null; t = t.getCause()) {
+      if (t instanceof ServiceOverloadedException
+          || t instanceof TimeoutException
+          || t instanceof SocketTimeoutException
+          || t instanceof QueryTimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,371 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.AgentProperties;
+import com.enterprise.rag.domain.AgentExecution;
+import com.enterprise.rag.domain.ToolInvocation;
+import com.enterprise.rag.dto.ToolCall;
+import com.enterprise.rag.dto.ToolResult;
+import com.enterprise.rag.util.ValidationUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a planned set of tool calls as a dependency graph.
+ *
+ * <p>Each call starts as soon as all of its dependencies have completed, on a bounded executor,
+ * so independent calls run concurrently and a turn takes as long as its critical path. Results
+ * are published to a listener as each call finishes. Calls that time out are interrupted, and
+ * calls whose dependencies failed are marked failed without running. A call's timeout starts
+ * when the call starts running, not while it waits in the executor's queue, and is tracked on
+ * one shared scheduler thread; the timer is cancelled as soon as the call finishes. Results of
+ * cacheable tools are served from {@link ToolResultCache} when the same inputs were seen
+ * recently.
+ * {@link AsyncAgentTool}s are composed without holding a tool thread while their work is
+ * outstanding, and their futures are cancelled on timeout. Latencies feed
+ * {@link LatencyStatsService}.
+ *
+ * REQ-AGENT-001: Record every tool call as a ToolInvocation with its real execution time.
+ */
+@Service
+@Slf4j
+public class AgentExecutionEngine {
+
+  private final Map<String, AgentTool> tools;
+  private final ThreadPoolTaskExecutor executor;
+  private final AgentTelemetryWriter agentTelemetryWriter;
+  private final AgentProperties agentProperties;
+  private final ToolResultCache toolResultCache;
+  private final LatencyStatsService latencyStatsService;
+  private final ScheduledThreadPoolExecutor timeoutScheduler;
+
+  public AgentExecutionEngine(ObjectProvider<AgentTool> tools,
+                              @Qualifier("agentToolExecutor") ThreadPoolTaskExecutor executor,
+                              AgentTelemetryWriter agentTelemetryWriter,
+                              AgentProperties agentProperties,
+                              ToolResultCache toolResultCache,
+                              LatencyStatsService latencyStatsService) {
+    this.tools = tools.orderedStream().collect(Collectors.toMap(AgentTool::getName, Function.identity()));
+    this.executor = executor;
+    this.agentTelemetryWriter = agentTelemetryWriter;
+    this.agentProperties = agentProperties;
+    this.toolResultCache = toolResultCache;
+    this.latencyStatsService = latencyStatsService;
+    this.timeoutScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "agent-tool-timeouts");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+    log.info("Agent execution engine initialized with tools: {}", this.tools.keySet());
+  }
+
+  @PreDestroy
+  void stop() {
+    timeoutScheduler.shutdownNow();
+  }
+
+  /**
+   * Execute a plan of tool calls and record the execution with its tool invocations.
+   * Persistence is asynchronous through {@link AgentTelemetryWriter}.
+   *
+   * @param execution the agent execution the calls belong to
+   * @param plan the tool calls with their dependencies
+   * @param listener receives each result as soon as its call finishes (may be null)
+   * @return future completed with all results, in plan order, once the plan finishes
+   * @throws IllegalArgumentException if the plan references unknown tools or calls, or has a cycle
+   */
+  public CompletableFuture<List<ToolResult>> execute(AgentExecution execution, List<ToolCall> plan,
+                                                     Consumer<ToolResult> listener) {
+    ValidationUtils.requireNonNull(execution, "execution");
+    ValidationUtils.requireNonEmpty(plan, "plan");
+    List<ToolCall> ordered = topologicalOrder(plan);
+
+    execution.setStatus("running");
+    execution.setStartedAt(LocalDateTime.now());
+    long startNanos = System.nanoTime();
+
+    Map<String, CompletableFuture<Outcome>> futures = new HashMap<>();
+    for (ToolCall call : ordered) {
+      List<CompletableFuture<Outcome>> dependencies = call.getDependsOn().stream()
+          .map(futures::get)
+          .toList();
+      CompletableFuture<Outcome> future = CompletableFuture
+          .allOf(dependencies.toArray(CompletableFuture<?>[]::new))
+          .thenCompose(ignored -> runOrSkip(call, dependencies))
+          .thenApply(outcome -> publish(listener, outcome));
+      futures.put(call.getId(), future);
+    }
+
+    List<CompletableFuture<Outcome>> inPlanOrder = plan.stream()
+        .map(call -> futures.get(call.getId()))
+        .toList();
+    return CompletableFuture.allOf(inPlanOrder.toArray(CompletableFuture<?>[]::new))
+        .thenApply(ignored -> {
+          List<Outcome> outcomes = inPlanOrder.stream().map(CompletableFuture::join).toList();
+          finish(execution, outcomes, startNanos);
+          return outcomes.stream().map(Outcome::result).toList();
+        });
+  }
+
+  private CompletableFuture<Outcome> runOrSkip(ToolCall call,
+                                               List<CompletableFuture<Outcome>> dependencies) {
+    Map<String, Map<String, Object>> dependencyOutputs = new LinkedHashMap<>();
+    for (CompletableFuture<Outcome> dependency : dependencies) {
+      ToolResult result = dependency.join().result();
+      if (!"completed".equals(result.getStatus())) {
+        return CompletableFuture.completedFuture(outcome(call, LocalDateTime.now(), "failed",
+            null, "Dependency '" + result.getCallId() + "' failed", 0));
+      }
+      dependencyOutputs.put(result.getCallId(), result.getOutput());
+    }
+
+    LocalDateTime lookupStartedAt = LocalDateTime.now();
+    long lookupStart = System.nanoTime();
+    Optional<Map<String, Object>> cached =
+        toolResultCache.get(call.getToolName(), call.getInputParams(), dependencyOutputs);
+    if (cached.isPresent()) {
+      log.debug("Tool {} ({}) served from cache", call.getToolName(), call.getId());
+      return CompletableFuture.completedFuture(outcome(call, lookupStartedAt, "completed",
+          cached.get(), null, elapsedMs(lookupStart), true));
+    }
+    return runTool(call, dependencyOutputs);
+  }
+
+  private CompletableFuture<Outcome> runTool(ToolCall call,
+                                             Map<String, Map<String, Object>> dependencyOutputs) {
+    AgentTool tool = tools.get(call.getToolName());
+    long timeoutMs = call.getTimeoutMs() != null
+        ? call.getTimeoutMs()
+        : agentProperties.getToolTimeouts()
+            .getOrDefault(call.getToolName(), agentProperties.getToolTimeout());
+    if (tool instanceof AsyncAgentTool asyncTool) {
+      return runAsyncTool(call, asyncTool, dependencyOutputs, timeoutMs);
+    }
+
+    CompletableFuture<Outcome> promise = new CompletableFuture<>();
+    AtomicReference<FutureTask<Void>> task = new AtomicReference<>();
+    task.set(new FutureTask<>(() -> {
+      LocalDateTime startedAt = LocalDateTime.now();
+      long start = System.nanoTime();
+      ScheduledFuture<?> timer = timeoutScheduler.schedule(() -> {
+        if (promise.complete(outcome(call, startedAt, "failed", null,
+            "Timed out after " + timeoutMs + "ms", elapsedMs(start)))) {
+          task.get().cancel(true);
+        }
+      }, timeoutMs, TimeUnit.MILLISECONDS);
+      try {
+        Map<String, Object> output = tool.execute(call.getInputParams(), dependencyOutputs);
+        if (promise.complete(outcome(call, startedAt, "completed", output, null,
+            elapsedMs(start)))) {
+          toolResultCache.put(call.getToolName(), call.getInputParams(), dependencyOutputs, output);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        promise.complete(outcome(call, startedAt, "failed", null, "Interrupted", elapsedMs(start)));
+      } catch (Exception e) {
+        log.warn("Tool {} ({}) failed: {}", call.getToolName(), call.getId(), e.getMessage());
+        promise.complete(outcome(call, startedAt, "failed", null, e.getMessage(),
+            elapsedMs(start)));
+      } finally {
+        timer.cancel(false);
+      }
+    }, null));
+
+    try {
+      executor.execute(task.get());
+    } catch (TaskRejectedException e) {
+      return CompletableFuture.completedFuture(outcome(call, LocalDateTime.now(), "failed", null,
+          "Tool executor is saturated", 0));
+    }
+    return promise;
+  }
+
+  private CompletableFuture<Outcome> runAsyncTool(ToolCall call, AsyncAgentTool tool,
+                                                  Map<String, Map<String, Object>> dependencyOutputs,
+                                                  long timeoutMs) {
+    LocalDateTime startedAt = LocalDateTime.now();
+    long start = System.nanoTime();
+    CompletableFuture<Map<String, Object>> pending;
+    try {
+      pending = tool.executeAsync(call.getInputParams(), dependencyOutputs);
+    } catch (RuntimeException e) {
+      log.warn("Tool {} ({}) failed to start: {}", call.getToolName(), call.getId(), e.getMessage());
+      return CompletableFuture.completedFuture(outcome(call, startedAt, "failed", null,
+          e.getMessage(), elapsedMs(start)));
+    }
+
+    CompletableFuture<Outcome> promise = new CompletableFuture<>();
+    ScheduledFuture<?> timer = timeoutScheduler.schedule(() -> {
+      if (promise.complete(outcome(call, startedAt, "failed", null,
+          "Timed out after " + timeoutMs + "ms", elapsedMs(start)))) {
+        pending.cancel(true);
+      }
+    }, timeoutMs, TimeUnit.MILLISECONDS);
+    pending.whenComplete((output, error) -> {
+      timer.cancel(false);
+      if (error == null) {
+        if (promise.complete(outcome(call, startedAt, "completed", output, null, elapsedMs(start)))) {
+          toolResultCache.put(call.getToolName(), call.getInputParams(), dependencyOutputs, output);
+        }
+        return;
+      }
+      Throwable cause = error instanceof CompletionException && error.getCause() != null
+          ? error.getCause()
+          : error;
+      if (promise.complete(outcome(call, startedAt, "failed", null, cause.getMessage(),
+          elapsedMs(start)))) {
+        log.warn("Tool {} ({}) failed: {}", call.getToolName(), call.getId(), cause.getMessage());
+      }
+    });
+    return promise;
+  }
+
+  private Outcome publish(Consumer<ToolResult> listener, Outcome outcome) {
+    if (listener != null) {
+      try {
+        listener.accept(outcome.result());
+      } catch (RuntimeException e) {
+        log.warn("Tool result listener failed for {}: {}",
+            outcome.result().getCallId(), e.getMessage());
+      }
+    }
+    return outcome;
+  }
+
+  private void finish(AgentExecution execution, List<Outcome> outcomes, long startNanos) {
+    Map<String, Object> outputs = new LinkedHashMap<>();
+    boolean failed = false;
+    for (Outcome outcome : outcomes) {
+      execution.addToolInvocation(outcome.invocation());
+      ToolResult result = outcome.result();
+      if ("completed".equals(result.getStatus())) {
+        outputs.put(result.getCallId(), result.getOutput());
+      } else {
+        failed = true;
+      }
+    }
+
+    execution.setOutputData(outputs);
+    execution.setStatus(failed ? "failed" : "completed");
+    execution.setCompletedAt(LocalDateTime.now());
+    execution.setExecutionTimeMs(elapsedMs(startNanos));
+    agentTelemetryWriter.record(execution);
+    latencyStatsService.recordExecution(execution);
+
+    log.info("Agent execution {} finished {} with {} tool calls in {}ms",
+        execution.getId(), execution.getStatus(), outcomes.size(), execution.getExecutionTimeMs());
+  }
+
+  private static Outcome outcome(ToolCall call, LocalDateTime startedAt, String status,
+                                 Map<String, Object> output, String error, int executionTimeMs) {
+    return outcome(call, startedAt, status, output, error, executionTimeMs, false);
+  }
+
+  private static Outcome outcome(ToolCall call, LocalDateTime startedAt, String status,
+                                 Map<String, Object> output, String error, int executionTimeMs,
+                                 boolean cacheHit) {
+    ToolResult result = ToolResult.builder()
+        .callId(call.getId())
+        .toolName(call.getToolName())
+        .status(status)
+        .output(output)
+        .errorMessage(error)
+        .executionTimeMs(executionTimeMs)
+        .cacheHit(cacheHit)
+        .build();
+    ToolInvocation invocation = ToolInvocation.builder()
+        .toolName(call.getToolName())
+        .inputParams(call.getInputParams())
+        .outputResult(output)
+        .status(status)
+        .startedAt(startedAt)
+        .completedAt(LocalDateTime.now())
+        .errorMessage(error)
+        .executionTimeMs(executionTimeMs)
+        .cacheHit(cacheHit)
+        .build();
+    return new Outcome(result, invocation);
+  }
+
+  private static int elapsedMs(long startNanos) {
+    return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Validate the plan and order it so every call follows its dependencies (Kahn's algorithm).
+   */
+  private List<ToolCall> topologicalOrder(List<ToolCall> plan) {
+    Map<String, ToolCall> byId = new LinkedHashMap<>();
+    for (ToolCall call : plan) {
+      ValidationUtils.requireNonEmpty(call.getId(), "toolCall.id");
+      ValidationUtils.requireNonNull(call.getInputParams(), "toolCall.inputParams");
+      ValidationUtils.requireNonNull(call.getDependsOn(), "toolCall.dependsOn");
+      if (!tools.containsKey(call.getToolName())) {
+        throw new IllegalArgumentException("Unknown tool: " + call.getToolName());
+      }
+      if (byId.put(call.getId(), call) != null) {
+        throw new IllegalArgumentException("Duplicate tool call ID: " + call.getId());
+      }
+    }
+
+    Map<String, Integer> pending = new HashMap<>();
+    Map<String, List<ToolCall>> dependents = new HashMap<>();
+    Deque<ToolCall> ready = new ArrayDeque<>();
+    for (ToolCall call : plan) {
+      for (String dependency : call.getDependsOn()) {
+        if (!byId.containsKey(dependency)) {
+          throw new IllegalArgumentException(
+              "Tool call '" + call.getId() + "' depends on unknown call '" + dependency + "'");
+        }
+        dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(call);
+      }
+      pending.put(call.getId(), call.getDependsOn().size());
+      if (call.getDependsOn().isEmpty()) {
+        ready.add(call);
+      }
+    }
+
+    List<ToolCall> ordered = new ArrayList<>(plan.size());
+    while (!ready.isEmpty()) {
+      ToolCall call = ready.poll();
+      ordered.add(call);
+      for (ToolCall dependent : dependents.getOrDefault(call.getId(), List.of())) {
+        if (pending.merge(dependent.getId(), -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    if (ordered.size() != plan.size()) {
+      throw new IllegalArgumentException("Tool call plan contains a dependency cycle");
+    }
+    return ordered;
+  }
+
+  private record Outcome(ToolResult result, ToolInvocation invocation) {
+  }
+}
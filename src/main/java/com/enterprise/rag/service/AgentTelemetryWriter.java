@@ -0,0 +1,328 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.AgentProperties;
+import com.enterprise.rag.domain.AgentExecution;
+import com.enterprise.rag.domain.ToolInvocation;
+import com.enterprise.rag.util.UuidV7;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, batched persistence of agent executions and their tool invocations.
+ *
+ * <p>Callers hand finished executions to {@link #record(AgentExecution)}, which only enqueues
+ * them in a bounded in-memory buffer. A background writer drains the buffer and writes each
+ * batch with two JDBC batch inserts in one transaction, instead of one round trip per row on
+ * the request path. A batch the database rejects is written in halves, so one bad row costs
+ * only its own execution; a batch that fails for other reasons, such as an unreachable
+ * database, is retried whole with backoff and then dropped. When the buffer cannot keep up,
+ * the configured overflow policy decides whether executions are dropped, sampled or make the
+ * caller wait.
+ *
+ * <p>The JPA repositories remain the read side for these tables.
+ */
+@Component
+@Slf4j
+public class AgentTelemetryWriter {
+
+  private static final String INSERT_EXECUTION =
+      "INSERT INTO rag.agent_executions (id, conversation_id, agent_type, input_data, output_data, "
+          + "status, started_at, completed_at, error_message, execution_time_ms) "
+          + "VALUES (?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_TOOL_INVOCATION =
+      "INSERT INTO rag.tool_invocations (id, execution_id, tool_name, input_params, output_result, "
+          + "status, started_at, completed_at, error_message, execution_time_ms, cache_hit) "
+          + "VALUES (?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?, ?, ?, ?)";
+
+  private final AgentProperties.Telemetry settings;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final BlockingQueue<AgentExecution> buffer;
+  private final AtomicLong pressureCounter = new AtomicLong();
+  private final Counter recorded;
+  private final Counter dropped;
+  private final Counter sampledOut;
+  private final Timer flushTimer;
+
+  private Thread writerThread;
+  private volatile boolean running;
+
+  public AgentTelemetryWriter(AgentProperties agentProperties, JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+    this.settings = agentProperties.getTelemetry();
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.buffer = new ArrayBlockingQueue<>(settings.getBufferCapacity());
+
+    Gauge.builder("rag.telemetry.buffer.size", buffer, BlockingQueue::size)
+        .description("Agent executions waiting to be written")
+        .register(meterRegistry);
+    this.recorded = outcomeCounter(meterRegistry, "recorded");
+    this.dropped = outcomeCounter(meterRegistry, "dropped");
+    this.sampledOut = outcomeCounter(meterRegistry, "sampled_out");
+    this.flushTimer = Timer.builder("rag.telemetry.flush")
+        .description("Time to write one telemetry batch")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    writerThread = new Thread(this::runWriter, "agent-telemetry-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    writerThread.interrupt();
+    writerThread.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+  /**
+   * Queue a finished execution, with its tool invocations, for persistence.
+   * Assigns IDs so callers can reference the execution before it is written.
+   *
+   * @param execution the finished execution
+   * @return true if the execution was queued, false if it was dropped or sampled out
+   */
+  public boolean record(AgentExecution execution) {
+    if (execution.getId() == null) {
+      execution.setId(UuidV7.next());
+    }
+    for (ToolInvocation invocation : execution.getToolInvocations()) {
+      if (invocation.getId() == null) {
+        invocation.setId(UuidV7.next());
+      }
+    }
+
+    if (settings.getOverflowPolicy() == AgentProperties.OverflowPolicy.SAMPLE && sampleOut()) {
+      sampledOut.increment();
+      return false;
+    }
+    boolean queued = settings.getOverflowPolicy() == AgentProperties.OverflowPolicy.BLOCK
+        ? offerBlocking(execution)
+        : buffer.offer(execution);
+    if (queued) {
+      recorded.increment();
+    } else {
+      dropped.increment();
+    }
+    return queued;
+  }
+
+  /**
+   * Decide whether to skip an execution because the buffer is over half full.
+   */
+  private boolean sampleOut() {
+    return buffer.size() * 2 >= settings.getBufferCapacity()
+        && pressureCounter.getAndIncrement() % Math.max(1, settings.getSampleRate()) != 0;
+  }
+
+  private boolean offerBlocking(AgentExecution execution) {
+    try {
+      return buffer.offer(execution, settings.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void runWriter() {
+    List<AgentExecution> batch = new ArrayList<>(settings.getBatchSize());
+    long flushIntervalMs = settings.getFlushInterval().toMillis();
+    while (running || !buffer.isEmpty()) {
+      try {
+        AgentExecution first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        buffer.drainTo(batch, settings.getBatchSize() - 1);
+      } catch (InterruptedException e) {
+        // Shutdown requested: drain whatever is left
+        buffer.drainTo(batch, settings.getBatchSize());
+      }
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+    log.info("Agent telemetry writer stopped");
+  }
+
+  private void flush(List<AgentExecution> batch) {
+    List<PendingExecution> pending = new ArrayList<>(batch.size());
+    for (AgentExecution execution : batch) {
+      try {
+        Object[] executionRow = executionRow(execution);
+        List<Object[]> invocationRows = new ArrayList<>(execution.getToolInvocations().size());
+        for (ToolInvocation invocation : execution.getToolInvocations()) {
+          invocationRows.add(invocationRow(execution.getId(), invocation));
+        }
+        pending.add(new PendingExecution(execution.getId(), executionRow, invocationRows));
+      } catch (JsonProcessingException e) {
+        log.warn("Skipping agent execution {} with unserializable data: {}",
+            execution.getId(), e.getMessage());
+        dropped.increment();
+      }
+    }
+    if (!pending.isEmpty()) {
+      flushTimer.record(() -> write(pending));
+    }
+  }
+
+  /**
+   * Write executions with their invocations. When the database rejects a row, the executions
+   * are split in halves and each half is written separately, so a bad row only loses its own
+   * execution. Any other failure is retried whole; if it persists, the executions are dropped.
+   */
+  private void write(List<PendingExecution> pending) {
+    try {
+      insertWithRetry(pending);
+    } catch (NonTransientDataAccessException e) {
+      if (pending.size() == 1) {
+        log.error("Database rejected agent execution {}", pending.get(0).id(), e);
+        dropped.increment();
+        return;
+      }
+      log.warn("Database rejected a batch of {} agent executions, writing it in halves: {}",
+          pending.size(), e.getMessage());
+      int middle = pending.size() / 2;
+      write(pending.subList(0, middle));
+      write(pending.subList(middle, pending.size()));
+    } catch (RuntimeException e) {
+      log.error("Dropping batch of {} agent executions: {}", pending.size(), e.getMessage());
+      dropped.increment(pending.size());
+    }
+  }
+
+  /**
+   * Insert executions and invocations in one transaction. Failures that may go away, such as an
+   * unreachable database, are retried with exponential backoff up to
+   * {@code app.agent.telemetry.retry-attempts} times; rejected data is thrown at once.
+   *
+   * @throws NonTransientDataAccessException if the database rejects a row
+   * @throws RuntimeException once the retries are exhausted or the writer is interrupted
+   */
+  private void insertWithRetry(List<PendingExecution> pending) {
+    List<Object[]> executionRows = pending.stream().map(PendingExecution::executionRow).toList();
+    List<Object[]> invocationRows = pending.stream()
+        .flatMap(execution -> execution.invocationRows().stream())
+        .toList();
+    long backoffMs = settings.getRetryBackoff().toMillis();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          jdbcTemplate.batchUpdate(INSERT_EXECUTION, executionRows);
+          if (!invocationRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TOOL_INVOCATION, invocationRows);
+          }
+        });
+        log.debug("Wrote {} agent executions and {} tool invocations",
+            executionRows.size(), invocationRows.size());
+        return;
+      } catch (NonTransientDataAccessException e) {
+        if (!(e instanceof NonTransientDataAccessResourceException)) {
+          throw e;
+        }
+        retryOrThrow(e, attempt, backoffMs);
+      } catch (RuntimeException e) {
+        retryOrThrow(e, attempt, backoffMs);
+      }
+      backoffMs *= 2;
+    }
+  }
+
+  private void retryOrThrow(RuntimeException failure, int attempt, long backoffMs) {
+    if (attempt > settings.getRetryAttempts()) {
+      throw failure;
+    }
+    log.warn("Failed to write agent telemetry (attempt {}), retrying in {}ms: {}",
+        attempt, backoffMs, failure.getMessage());
+    try {
+      Thread.sleep(backoffMs);
+    } catch (InterruptedException e) {
+      // Shutting down: give up on this batch so the rest of the buffer can be flushed
+      Thread.currentThread().interrupt();
+      throw failure;
+    }
+  }
+
+  private Object[] executionRow(AgentExecution execution) throws JsonProcessingException {
+    return new Object[] {
+        execution.getId(),
+        execution.getConversation() != null ? execution.getConversation().getId() : null,
+        execution.getAgentType(),
+        toJson(execution.getInputData()),
+        toJson(execution.getOutputData()),
+        execution.getStatus(),
+        toTimestamp(execution.getStartedAt()),
+        toTimestamp(execution.getCompletedAt()),
+        execution.getErrorMessage(),
+        execution.getExecutionTimeMs()
+    };
+  }
+
+  private Object[] invocationRow(UUID executionId, ToolInvocation invocation)
+      throws JsonProcessingException {
+    return new Object[] {
+        invocation.getId(),
+        executionId,
+        invocation.getToolName(),
+        toJson(invocation.getInputParams()),
+        toJson(invocation.getOutputResult()),
+        invocation.getStatus(),
+        toTimestamp(invocation.getStartedAt()),
+        toTimestamp(invocation.getCompletedAt()),
+        invocation.getErrorMessage(),
+        invocation.getExecutionTimeMs(),
+        Boolean.TRUE.equals(invocation.getCacheHit())
+    };
+  }
+
+  private String toJson(Map<String, Object> value) throws JsonProcessingException {
+    return value == null ? null : objectMapper.writeValueAsString(value);
+  }
+
+  private static Timestamp toTimestamp(LocalDateTime value) {
+    return value == null ? null : Timestamp.valueOf(value);
+  }
+
+  private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("rag.telemetry.executions")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private record PendingExecution(UUID id, Object[] executionRow, List<Object[]> invocationRows) {
+  }
+}
@@ -0,0 +1,47 @@
+package com.enterprise.rag.service;
+
+import java.util.Map;
+
+/**
+ * A tool that agents can invoke.
+ * Implementations are Spring beans discovered by {@link AgentExecutionEngine}.
+ */
+public interface AgentTool {
+
+  /**
+   * Get the unique tool name used in tool calls.
+   *
+   * @return tool name
+   */
+  String getName();
+
+  /**
+   * Get the description offered to the model alongside the tool's schema.
+   *
+   * @return tool description
+   */
+  default String getDescription() {
+    return getName();
+  }
+
+  /**
+   * Get the JSON schema of the tool's input parameters, as offered to the model.
+   *
+   * @return JSON schema object
+   */
+  default Map<String, Object> getParameters() {
+    return Map.of("type", "object");
+  }
+
+  /**
+   * Execute the tool.
+   * Implementations should respond to thread interruption, which signals a timeout.
+   *
+   * @param inputParams the call's input parameters
+   * @param dependencyOutputs outputs of the calls this call depends on, keyed by call ID
+   * @return the tool output
+   * @throws Exception if the tool fails
+   */
+  Map<String, Object> execute(Map<String, Object> inputParams,
+                              Map<String, Map<String, Object>> dependencyOutputs) throws Exception;
+}
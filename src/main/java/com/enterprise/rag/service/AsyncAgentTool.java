@@ -0,0 +1,37 @@
+package com.enterprise.rag.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A tool whose work completes asynchronously, such as a cloud engine job.
+ * {@link AgentExecutionEngine} composes the returned future instead of occupying a tool
+ * thread while the work is outstanding, and cancels it when the call times out.
+ */
+public interface AsyncAgentTool extends AgentTool {
+
+  /**
+   * Start the tool without blocking.
+   *
+   * @param inputParams the call's input parameters
+   * @param dependencyOutputs outputs of the calls this call depends on, keyed by call ID
+   * @return future completed with the tool output, or exceptionally if the tool fails
+   */
+  CompletableFuture<Map<String, Object>> executeAsync(
+      Map<String, Object> inputParams, Map<String, Map<String, Object>> dependencyOutputs);
+
+  /**
+   * Blocking adapter for callers outside the engine.
+   */
+  @Override
+  default Map<String, Object> execute(Map<String, Object> inputParams,
+                                      Map<String, Map<String, Object>> dependencyOutputs)
+      throws Exception {
+    try {
+      return executeAsync(inputParams, dependencyOutputs).get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.WarmupProperties;
+import com.enterprise.rag.dto.ChatRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays the most frequent recent queries at startup so the query embedding, retrieval and
+ * answer caches ({@link QueryResultCache}) are warm when traffic arrives.
+ *
+ * <p>Queries come from recent user messages or from a JSON-lines log of recorded chat requests
+ * ({@code app.warmup.source}). Each is run through {@link ChatService#warmUp} on a pool of
+ * {@code app.warmup.concurrency} threads, so the caches are keyed exactly as for live traffic.
+ * Runs as an {@link ApplicationRunner}: Spring Boot reports readiness as accepting traffic only
+ * after runners complete, so the readiness probe stays down until the warm-up finishes or times
+ * out. Failures are logged and never prevent startup.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService implements ApplicationRunner {
+
+  private static final String SELECT_TOP_QUERIES =
+      "SELECT content FROM rag.messages " +
+      "WHERE role = 'user' AND timestamp >= ? " +
+      "GROUP BY content " +
+      "ORDER BY COUNT(*) DESC, MAX(timestamp) DESC " +
+      "LIMIT ?";
+
+  private final WarmupProperties properties;
+  private final ChatService chatService;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  public CacheWarmupService(WarmupProperties properties, ChatService chatService,
+                            JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.chatService = chatService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      warmUp();
+    } catch (RuntimeException e) {
+      log.warn("Cache warm-up failed: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Replay the top recorded queries, waiting up to {@code app.warmup.timeout}.
+   *
+   * @return the number of queries replayed successfully
+   */
+  public int warmUp() {
+    List<ChatRequest> requests = topRequests();
+    if (requests.isEmpty()) {
+      log.info("Cache warm-up: no recorded queries");
+      return 0;
+    }
+
+    long startTime = System.currentTimeMillis();
+    AtomicInteger warmed = new AtomicInteger();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(1, properties.getConcurrency()), runnable -> {
+          Thread thread = new Thread(runnable, "cache-warmup-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    try {
+      for (ChatRequest request : requests) {
+        executor.execute(() -> replay(request, warmed));
+      }
+      executor.shutdown();
+      if (!executor.awaitTermination(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Cache warm-up timed out after {}, {} of {} queries replayed",
+            properties.getTimeout(), warmed.get(), requests.size());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    log.info("Cache warm-up replayed {} of {} queries in {}ms",
+        warmed.get(), requests.size(), System.currentTimeMillis() - startTime);
+    return warmed.get();
+  }
+
+  private void replay(ChatRequest request, AtomicInteger warmed) {
+    try {
+      chatService.warmUp(request);
+      warmed.incrementAndGet();
+      outcome("success");
+    } catch (RuntimeException e) {
+      outcome("error");
+      log.debug("Warm-up query failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Load the most frequent recorded requests from the configured source.
+   */
+  List<ChatRequest> topRequests() {
+    return switch (properties.getSource()) {
+      case MESSAGES -> jdbcTemplate.queryForList(SELECT_TOP_QUERIES, String.class,
+              Timestamp.valueOf(LocalDateTime.now().minus(properties.getLookback())),
+              properties.getTopQueries())
+          .stream()
+          .map(query -> ChatRequest.builder().query(query).build())
+          .toList();
+      case QUERY_LOG -> readQueryLog(Path.of(properties.getQueryLog()));
+    };
+  }
+
+  /**
+   * Read recorded chat requests, one JSON object per line, and rank them by frequency.
+   * Session and user fields are dropped so that repeats of a request count together.
+   */
+  private List<ChatRequest> readQueryLog(Path path) {
+    Map<ChatRequest, Integer> counts = new LinkedHashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(path)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.path("query").isTextual() || node.path("query").asText().isBlank()) {
+          continue;
+        }
+        ChatRequest recorded = objectMapper.treeToValue(node, ChatRequest.class);
+        ChatRequest request = ChatRequest.builder()
+            .query(recorded.getQuery())
+            .maxTokens(recorded.getMaxTokens())
+            .temperature(recorded.getTemperature())
+            .useRag(recorded.getUseRag())
+            .build();
+        counts.merge(request, 1, Integer::sum);
+      }
+    } catch (IOException e) {
+      log.warn("Cannot read warm-up query log {}: {}", path, e.getMessage());
+      return List.of();
+    }
+    return counts.entrySet().stream()
+        .sorted(Map.Entry.<ChatRequest, Integer>comparingByValue(Comparator.reverseOrder()))
+        .limit(properties.getTopQueries())
+        .map(Map.Entry::getKey)
+        .toList();
+  }
+
+  private void outcome(String result) {
+    Counter.builder("rag.warmup.queries")
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+}
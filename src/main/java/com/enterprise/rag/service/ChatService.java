@@ -4,17 +4,23 @@ import com.enterprise.rag.domain.Conversation;
 import com.enterprise.rag.domain.Message;
 import com.enterprise.rag.dto.ChatRequest;
 import com.enterprise.rag.dto.ChatResponse;
+import com.enterprise.rag.dto.RetrievedChunk;
 import com.enterprise.rag.exception.ResourceNotFoundException;
 import com.enterprise.rag.exception.ServiceException;
+import com.enterprise.rag.exception.ServiceOverloadedException;
 import com.enterprise.rag.repository.ConversationRepository;
 import com.enterprise.rag.repository.MessageRepository;
+import com.enterprise.rag.service.ChatStageMetrics.Stage;
 import com.enterprise.rag.util.ErrorHandler;
 import com.enterprise.rag.util.TimeUtils;
+import com.enterprise.rag.util.TokenUtils;
 import com.enterprise.rag.util.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -34,10 +40,32 @@ public class ChatService {
 
   private final ConversationRepository conversationRepository;
   private final MessageRepository messageRepository;
+  private final RetrievalService retrievalService;
+  private final GenerationService generationService;
+  private final ContextPacker contextPacker;
+  private final ConversationHistoryCache historyCache;
+  private final HistoryQueryService historyQueryService;
+  private final ConversationPurgeService conversationPurgeService;
+  private final ChatStageMetrics stageMetrics;
+  private final QueryResultCache queryResultCache;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.rag.candidate-k:20}")
+  private int retrievalCandidates;
+
+  @Value("${app.rag.stage-breakdown:false}")
+  private boolean includeStageBreakdown;
 
   /**
    * Process a chat request and generate a response.
    * Handles conversation creation, message persistence, and response generation.
+   * The conversation and user message are written in one short transaction and the assistant
+   * message in another; retrieval and generation run outside any transaction, so no database
+   * connection or conversation row lock is held across the LLM call. If generation fails, the
+   * user message stays saved without an answer.
+   * Each stage is timed into {@link ChatStageMetrics}; transaction commits are not part of any
+   * stage. The thread's {@link QueryResultCache} lookup
+   * outcomes are cleared on the way out, so none leak into the next request on the thread.
    *
    * REQ-SVC-001: Validate all inputs before processing
    * REQ-SVC-002: Log all operations with context
@@ -48,10 +76,24 @@ public class ChatService {
    * @throws IllegalArgumentException if request validation fails
    * @throws ServiceException if chat processing fails
    */
-  @Transactional
   public ChatResponse chat(ChatRequest request) {
+    try {
+      return process(request);
+    } finally {
+      queryResultCache.clearLookups();
+    }
+  }
+
+  private ChatResponse process(ChatRequest request) {
+    ChatStageMetrics.Breakdown stages = stageMetrics.start(generationService.getModelName());
+
     // REQ-001: Validate input parameters
-    validateChatRequest(request);
+    try {
+      stages.run(Stage.VALIDATION, () -> validateChatRequest(request));
+    } catch (IllegalArgumentException e) {
+      stages.finish(ChatStageMetrics.INVALID);
+      throw e;
+    }
 
     log.info("Processing chat request for session: {} (user: {})",
         request.getSessionId(), request.getUserId());
@@ -59,39 +101,55 @@ public class ChatService {
     long startTime = System.currentTimeMillis();
 
     try {
-      // Get or create conversation
-      Conversation conversation = getOrCreateConversation(
-          request.getSessionId(), request.getUserId());
-
-      // Save user message
-      Message userMessage = saveMessage(conversation, "user", request.getQuery());
-
-      // Generate response (mocked for now)
-      String answer = generateMockResponse(request.getQuery());
+      // Get or create conversation and save the user message
+      Conversation conversation = transactionTemplate.execute(status -> {
+        Conversation current = stages.time(Stage.CONVERSATION, () ->
+            getOrCreateConversation(request.getSessionId(), request.getUserId()));
+        stages.run(Stage.PERSISTENCE, () -> saveMessage(current, "user", request.getQuery()));
+        return current;
+      });
+
+      // Retrieve supporting context
+      List<RetrievedChunk> context = stages.time(Stage.RETRIEVAL, QueryResultCache.RETRIEVAL,
+          () -> retrieveContext(request));
+
+      // Generate response
+      String answer = stages.time(Stage.GENERATION, QueryResultCache.ANSWERS, () ->
+          generationService.generate(request.getQuery(), context,
+              request.getTemperature(), request.getMaxTokens()));
 
       // Save assistant message
-      Message assistantMessage = saveMessage(conversation, "assistant", answer);
+      transactionTemplate.executeWithoutResult(status -> stages.run(Stage.PERSISTENCE, () ->
+          saveMessage(conversation, "assistant", answer)));
 
       // Calculate processing time
       long processingTime = System.currentTimeMillis() - startTime;
       log.info("Chat request processed in {}ms", processingTime);
 
       // Build response
-      return ChatResponse.builder()
+      ChatResponse response = ChatResponse.builder()
           .answer(answer)
           .sessionId(request.getSessionId())
           .conversationId(conversation.getId().toString())
-          .sources(Collections.emptyList())
-          .metadata(buildMetadata(conversation, processingTime))
+          .sources(toSources(context))
+          .metadata(buildMetadata(conversation, processingTime, stages))
           .timestamp(LocalDateTime.now())
           .tokensUsed(estimateTokens(request.getQuery(), answer))
-          .model("gpt-4-mock")
+          .model(generationService.getModelName())
           .build();
+      stages.finish(ChatStageMetrics.SUCCESS);
+      return response;
 
     } catch (IllegalArgumentException e) {
-      // REQ-ERR-003: Re-throw validation errors
+      // REQ-ERR-003: Re-throw validation and load-shedding errors
+      stages.finish(ChatStageMetrics.INVALID);
+      throw e;
+    } catch (ServiceOverloadedException e) {
+      stages.finish(ChatStageMetrics.REJECTED);
       throw e;
     } catch (Exception e) {
+      stages.finish(ChatStageMetrics.ERROR);
+
       // REQ-ERR-001: Log error with context
       Map<String, Object> errorContext = ErrorHandler.createErrorContext(
           "ChatService.chat", request);
@@ -104,6 +162,23 @@ public class ChatService {
     }
   }
 
+  /**
+   * Run a request through retrieval and generation without touching any conversation, so the
+   * query caches hold its embedding, candidates and answer. Used by {@link CacheWarmupService}.
+   *
+   * @param request the chat request to replay
+   * @throws IllegalArgumentException if the query is invalid
+   */
+  public void warmUp(ChatRequest request) {
+    ValidationUtils.requireNonNull(request, "request");
+    ValidationUtils.requireNonEmpty(request.getQuery(), "query");
+    ValidationUtils.validateStringLength(request.getQuery(), "query", 4000);
+
+    List<RetrievedChunk> context = retrieveContext(request);
+    generationService.generate(request.getQuery(), context,
+        request.getTemperature(), request.getMaxTokens());
+  }
+
   /**
    * Validate chat request inputs.
    * REQ-001: Validate all user inputs for null, empty, and boundary conditions.
@@ -153,7 +228,7 @@ public class ChatService {
   }
 
   /**
-   * Save a message to the conversation.
+   * Save a message to the conversation and increment the conversation's counters.
    */
   private Message saveMessage(Conversation conversation, String role, String content) {
     Message message = Message.builder()
@@ -164,69 +239,78 @@ public class ChatService {
         .tokenCount(estimateTokens(content))
         .metadata(new HashMap<>())
         .build();
-    return messageRepository.save(message);
+    Message saved = messageRepository.save(message);
+    conversationRepository.recordMessages(conversation.getId(), 1, saved.getTokenCount(),
+        saved.getTimestamp());
+    conversation.applyMessageWritten(saved.getTokenCount(), saved.getTimestamp());
+    historyCache.append(conversation.getId(), saved);
+    return saved;
   }
 
   /**
-   * Generate mock response based on query patterns.
-   * In production, this would call the LLM service.
+   * Retrieve context chunks for the query unless RAG is disabled on the request.
+   * Candidates are packed into the token budget left after the prompt and completion.
    */
-  private String generateMockResponse(String query) {
-    String lowerQuery = query.toLowerCase();
-
-    if (lowerQuery.contains("rag") || lowerQuery.contains("retrieval")) {
-      return "RAG (Retrieval-Augmented Generation) enhances language models by retrieving relevant "
-          + "information from a knowledge base before generating responses. This grounds the model's "
-          + "outputs in factual data and significantly reduces hallucinations.";
-    } else if (lowerQuery.contains("agent") || lowerQuery.contains("agentic")) {
-      return "Agentic AI systems are autonomous agents that can plan, reason, use tools, and execute "
-          + "multi-step workflows. Unlike traditional chatbots, agents can decompose complex tasks, "
-          + "select appropriate tools, and iterate until goals are achieved.";
-    } else if (lowerQuery.contains("how") || lowerQuery.contains("work")) {
-      return "The system works by: (1) Planning - decomposing your query into subtasks, "
-          + "(2) Retrieval - searching the knowledge base for relevant information, "
-          + "(3) Reasoning - analyzing retrieved context, and "
-          + "(4) Generation - producing a well-grounded response.";
-    } else {
-      return "I understand your question: \"" + query + "\". This is a mock response from the "
-          + "Agentic-RAG system. In production, I would retrieve relevant documents from the "
-          + "knowledge base and generate a comprehensive answer grounded in that context.";
+  private List<RetrievedChunk> retrieveContext(ChatRequest request) {
+    if (Boolean.FALSE.equals(request.getUseRag())) {
+      return Collections.emptyList();
     }
+    int budget = contextPacker.remainingBudget(request.getQuery(), request.getMaxTokens());
+    if (budget == 0) {
+      log.debug("No token budget left for context (maxTokens={})", request.getMaxTokens());
+      return Collections.emptyList();
+    }
+    List<RetrievedChunk> candidates =
+        retrievalService.retrieve(request.getQuery(), retrievalCandidates);
+    return contextPacker.pack(candidates, budget);
+  }
+
+  /**
+   * Map retrieved chunks to distinct source document IDs, in relevance order.
+   */
+  private List<String> toSources(List<RetrievedChunk> context) {
+    return context.stream()
+        .map(chunk -> chunk.getDocumentId().toString())
+        .distinct()
+        .toList();
   }
 
   /**
    * Estimate token count (rough approximation).
    */
   private Integer estimateTokens(String... texts) {
-    int totalWords = 0;
-    for (String text : texts) {
-      if (text != null) {
-        totalWords += text.split("\\s+").length;
-      }
-    }
-    return (int) (totalWords * 1.3); // Rough approximation: 1 token ≈ 0.75 words
+    return TokenUtils.estimateTokens(texts);
   }
 
   /**
    * Build metadata for response.
-   * REQ-SVC-004: Include processing metrics in response metadata.
+   * REQ-SVC-004: Include processing metrics in response metadata, with the per-stage
+   * breakdown when {@code app.rag.stage-breakdown} is on.
    *
    * @param conversation the conversation object
    * @param processingTimeMs processing time in milliseconds
+   * @param stages the request's stage timings
    * @return metadata map
    */
-  private Map<String, Object> buildMetadata(Conversation conversation, long processingTimeMs) {
+  private Map<String, Object> buildMetadata(Conversation conversation, long processingTimeMs,
+                                            ChatStageMetrics.Breakdown stages) {
     Map<String, Object> metadata = new HashMap<>();
     metadata.put("conversationId", conversation.getId().toString());
-    metadata.put("messageCount", conversation.getMessages().size());
+    metadata.put("messageCount", conversation.getMessageCount());
+    metadata.put("totalTokens", conversation.getTotalTokens());
+    metadata.put("lastMessageAt", conversation.getLastMessageAt());
     metadata.put("createdAt", conversation.getCreatedAt());
     metadata.put("processingTimeMs", processingTimeMs);
     metadata.put("processingTimeSeconds", TimeUtils.millisecondsToSeconds(processingTimeMs));
+    if (includeStageBreakdown) {
+      metadata.put("stages", stages.toMetadata());
+    }
     return metadata;
   }
 
   /**
    * Get conversation history.
+   * Served from {@link ConversationHistoryCache}; only misses touch the database.
    * REQ-SVC-005: Retrieve conversation history with validation.
    *
    * @param sessionId the conversation session ID
@@ -234,33 +318,21 @@ public class ChatService {
    * @throws IllegalArgumentException if sessionId is invalid
    * @throws ResourceNotFoundException if conversation doesn't exist
    */
-  @Transactional(readOnly = true)
   public List<Message> getConversationHistory(String sessionId) {
     // REQ-001: Validate session ID format
     ValidationUtils.validateUuid(sessionId, "sessionId");
 
-    try {
-      UUID conversationId = UUID.fromString(sessionId);
-
-      // Check if conversation exists
-      if (!conversationRepository.existsById(conversationId)) {
-        throw new ResourceNotFoundException("Conversation", sessionId);
-      }
-
-      List<Message> messages = messageRepository
-          .findByConversationIdOrderByTimestampAsc(conversationId);
-
-      log.debug("Retrieved {} messages for conversation {}", messages.size(), sessionId);
-      return messages;
+    UUID conversationId = UUID.fromString(sessionId);
+    List<Message> messages = historyCache.get(conversationId,
+        () -> historyQueryService.conversationHistory(conversationId));
 
-    } catch (IllegalArgumentException e) {
-      log.warn("Invalid session ID format: {}", sessionId);
-      throw new IllegalArgumentException("Invalid session ID format: " + sessionId, e);
-    }
+    log.debug("Retrieved {} messages for conversation {}", messages.size(), sessionId);
+    return messages;
   }
 
   /**
-   * Delete a conversation and all associated messages.
+   * Delete a conversation and all associated messages and agent telemetry.
+   * Rows are deleted with one statement per table by {@link ConversationPurgeService}.
    * REQ-SVC-006: Support conversation deletion with cascade.
    *
    * @param conversationId the conversation ID to delete
@@ -271,11 +343,12 @@ public class ChatService {
     ValidationUtils.validateUuid(conversationId, "conversationId");
 
     UUID uuid = UUID.fromString(conversationId);
-    Conversation conversation = conversationRepository.findById(uuid)
-        .orElseThrow(() -> new ResourceNotFoundException("Conversation", conversationId));
-
-    conversationRepository.delete(conversation);
-    log.info("Deleted conversation {} with {} messages",
-        conversationId, conversation.getMessages().size());
+    ConversationPurgeService.DeletedRows deleted =
+        conversationPurgeService.deleteConversations(List.of(uuid));
+    if (deleted.conversations() == 0) {
+      throw new ResourceNotFoundException("Conversation", conversationId);
+    }
+    log.info("Deleted conversation {} with {} messages and {} agent executions",
+        conversationId, deleted.messages(), deleted.executions());
   }
 }
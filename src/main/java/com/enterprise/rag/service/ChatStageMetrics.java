@@ -0,0 +1,177 @@
+package com.enterprise.rag.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-stage latency of the chat pipeline.
+ *
+ * <p>Each request gets a {@link Breakdown} that times its stages. When the request ends, every
+ * stage it ran is recorded once into {@code rag.chat.stage} and the whole request into
+ * {@code rag.chat.request}. A stage that throws increments {@code rag.chat.stage.failures}.
+ * Tags are bounded: {@code stage} is a {@link Stage}, {@code model} the configured generation
+ * model, {@code cache} one of {@code hit}, {@code miss}, {@code off} or {@code none}, and
+ * {@code outcome} one of {@code success}, {@code invalid}, {@code rejected} or {@code error}.
+ */
+@Component
+public class ChatStageMetrics {
+
+  /**
+   * Chat pipeline stages, in request order.
+   */
+  public enum Stage {
+    VALIDATION("validation"),
+    CONVERSATION("conversation"),
+    PERSISTENCE("persistence"),
+    RETRIEVAL("retrieval"),
+    GENERATION("generation");
+
+    private final String tag;
+
+    Stage(String tag) {
+      this.tag = tag;
+    }
+
+    public String tag() {
+      return tag;
+    }
+  }
+
+  /** Cache tag of stages that do not go through a query cache. */
+  public static final String NO_CACHE = "none";
+
+  /** Request outcomes. */
+  public static final String SUCCESS = "success";
+  public static final String INVALID = "invalid";
+  public static final String REJECTED = "rejected";
+  public static final String ERROR = "error";
+
+  private final MeterRegistry meterRegistry;
+  private final QueryResultCache queryResultCache;
+
+  public ChatStageMetrics(MeterRegistry meterRegistry, QueryResultCache queryResultCache) {
+    this.meterRegistry = meterRegistry;
+    this.queryResultCache = queryResultCache;
+  }
+
+  /**
+   * Start timing a request.
+   *
+   * @param model generation model the request's meters are tagged with
+   * @return the request's breakdown
+   */
+  public Breakdown start(String model) {
+    return new Breakdown(model);
+  }
+
+  /**
+   * Stage timings of one request. Not thread-safe; a request's stages run on one thread.
+   */
+  public final class Breakdown {
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Stage, Long> nanos = new EnumMap<>(Stage.class);
+    private final Map<Stage, String> cacheResults = new EnumMap<>(Stage.class);
+    private final String model;
+
+    private Breakdown(String model) {
+      this.model = model;
+    }
+
+    /**
+     * Run a stage, adding its time to the stage's total for this request.
+     *
+     * @param stage the stage
+     * @param work the stage's work; its exceptions propagate
+     * @param <T> the result type
+     * @return the work's result
+     */
+    public <T> T time(Stage stage, Supplier<T> work) {
+      long start = System.nanoTime();
+      try {
+        return work.get();
+      } catch (RuntimeException e) {
+        Counter.builder("rag.chat.stage.failures")
+            .description("Chat pipeline stages that threw")
+            .tag("stage", stage.tag())
+            .tag("model", model)
+            .register(meterRegistry)
+            .increment();
+        throw e;
+      } finally {
+        nanos.merge(stage, System.nanoTime() - start, Long::sum);
+      }
+    }
+
+    /**
+     * Run a stage that may be served from a query cache, tagging it with the lookup's
+     * outcome. A stage that skipped the cache keeps the {@code none} tag.
+     *
+     * @param stage the stage
+     * @param cacheName the {@link QueryResultCache} cache the stage reads through
+     * @param work the stage's work; its exceptions propagate
+     * @param <T> the result type
+     * @return the work's result
+     */
+    public <T> T time(Stage stage, String cacheName, Supplier<T> work) {
+      queryResultCache.clearLookup(cacheName);
+      try {
+        return time(stage, work);
+      } finally {
+        String result = queryResultCache.lastLookup(cacheName);
+        if (result != null) {
+          cacheResults.put(stage, result);
+        }
+      }
+    }
+
+    /**
+     * Run a stage without a result.
+     */
+    public void run(Stage stage, Runnable work) {
+      time(stage, () -> {
+        work.run();
+        return null;
+      });
+    }
+
+    /**
+     * Record the stages that ran and the request's total time.
+     *
+     * @param outcome {@link #SUCCESS}, {@link #INVALID}, {@link #REJECTED} or {@link #ERROR}
+     */
+    public void finish(String outcome) {
+      nanos.forEach((stage, elapsed) -> Timer.builder("rag.chat.stage")
+          .description("Time spent in one chat pipeline stage per request")
+          .tag("stage", stage.tag())
+          .tag("model", model)
+          .tag("cache", cacheResults.getOrDefault(stage, NO_CACHE))
+          .register(meterRegistry)
+          .record(elapsed, TimeUnit.NANOSECONDS));
+      Timer.builder("rag.chat.request")
+          .description("Chat request time, all stages included")
+          .tag("model", model)
+          .tag("outcome", outcome)
+          .register(meterRegistry)
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stage times so far in milliseconds, in request order, for response metadata.
+     */
+    public Map<String, Object> toMetadata() {
+      Map<String, Object> stages = new LinkedHashMap<>();
+      nanos.forEach((stage, elapsed) -> stages.put(stage.tag() + "Ms", elapsed / 1_000_000.0));
+      cacheResults.forEach((stage, result) -> stages.put(stage.tag() + "Cache", result));
+      return stages;
+    }
+  }
+}
@@ -0,0 +1,316 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.CloudEngineProperties;
+import com.enterprise.rag.dto.CloudJob;
+import com.enterprise.rag.dto.CloudJobRequest;
+import com.enterprise.rag.exception.ServiceException;
+import com.enterprise.rag.util.ValidationUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client for the asynchronous cloud engine job API (cloud-mock locally).
+ *
+ * <p>{@link #submit(CloudJobRequest, Duration)} returns a future that completes when the job
+ * finishes, without any thread waiting on it. All outstanding jobs are tracked by one scheduler
+ * thread that sends batched status requests: each job is polled at an adaptive interval that
+ * starts short, backs off while the status is unchanged and resets when it changes. When a
+ * callback URL is configured, job callbacks complete futures immediately and polling only
+ * serves as a fallback. Jobs that outlive their timeout, or whose future is cancelled, are
+ * cancelled on the engine.
+ */
+@Component
+@Slf4j
+public class CloudEngineClient {
+
+  private static final ParameterizedTypeReference<List<CloudJob>> JOB_LIST =
+      new ParameterizedTypeReference<>() { };
+
+  private final CloudEngineProperties.Jobs settings;
+  private final WebClient webClient;
+  private final Duration requestTimeout;
+  private final Map<String, TrackedJob> tracked = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+  private final Counter polls;
+  private final MeterRegistry meterRegistry;
+
+  public CloudEngineClient(WebClient.Builder webClientBuilder, CloudEngineProperties properties,
+                           MeterRegistry meterRegistry) {
+    this.settings = properties.getJobs();
+    this.webClient = webClientBuilder.baseUrl(properties.getBaseUrl()).build();
+    this.requestTimeout = Duration.ofMillis(properties.getTimeout());
+    this.meterRegistry = meterRegistry;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "cloud-job-poller");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    Gauge.builder("rag.cloud.jobs.tracked", tracked, Map::size)
+        .description("Cloud jobs awaiting completion")
+        .register(meterRegistry);
+    this.polls = Counter.builder("rag.cloud.jobs.polls")
+        .description("Batched job status requests sent")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    long tickMs = Math.max(10, settings.getMinPollInterval().toMillis());
+    scheduler.scheduleWithFixedDelay(this::pollDueJobs, tickMs, tickMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+    tracked.values().forEach(job ->
+        job.future.completeExceptionally(new ServiceException("Cloud engine client shut down")));
+  }
+
+  /**
+   * Submit a job and track it until it finishes.
+   *
+   * @param request the job to submit; the configured callback URL is added if none is set
+   * @param timeout how long to wait for the job (null for the configured default)
+   * @return future completed with the finished job; completed exceptionally with
+   *     {@link ServiceException} if the job fails or cannot be submitted, or
+   *     {@link TimeoutException} if it does not finish in time. Cancelling it cancels the job.
+   */
+  public CompletableFuture<CloudJob> submit(CloudJobRequest request, Duration timeout) {
+    ValidationUtils.requireNonNull(request, "request");
+    ValidationUtils.requireNonEmpty(request.getName(), "request.name");
+    if (request.getCallbackUrl() == null && !settings.getCallbackUrl().isBlank()) {
+      request.setCallbackUrl(settings.getCallbackUrl());
+    }
+    Duration effectiveTimeout = timeout != null ? timeout : settings.getDefaultTimeout();
+    long deadlineNanos = System.nanoTime() + effectiveTimeout.toNanos();
+
+    CompletableFuture<CloudJob> completion = new CompletableFuture<>();
+    webClient.post()
+        .uri("/api/jobs")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(CloudJob.class)
+        .timeout(requestTimeout)
+        .toFuture()
+        .whenComplete((job, error) -> {
+          if (error != null || job == null || job.getJobId() == null) {
+            String reason = error != null ? error.getMessage() : "empty response";
+            completion.completeExceptionally(
+                new ServiceException("Cloud job submission failed: " + reason, error));
+          } else if (job.isTerminal()) {
+            finish(completion, job);
+          } else {
+            track(job, completion, deadlineNanos);
+          }
+        });
+    return completion;
+  }
+
+  /**
+   * Apply a job update pushed by the cloud engine's callback.
+   *
+   * @param job the reported job
+   */
+  public void onJobUpdate(CloudJob job) {
+    ValidationUtils.requireNonNull(job, "job");
+    TrackedJob trackedJob = job.getJobId() != null ? tracked.get(job.getJobId()) : null;
+    if (trackedJob == null) {
+      log.debug("Ignoring callback for untracked cloud job {}", job.getJobId());
+      return;
+    }
+    if (job.isTerminal()) {
+      finish(trackedJob.future, job);
+    }
+  }
+
+  private void track(CloudJob job, CompletableFuture<CloudJob> completion, long deadlineNanos) {
+    String jobId = job.getJobId();
+    tracked.put(jobId, new TrackedJob(jobId, completion, deadlineNanos, job.getStatus(),
+        settings.getMinPollInterval().toNanos()));
+    completion.whenComplete((ignored, error) -> {
+      tracked.remove(jobId);
+      if (error instanceof CancellationException || error instanceof TimeoutException) {
+        cancelRemote(jobId);
+      }
+    });
+    log.debug("Tracking cloud job {} ({})", jobId, job.getName());
+  }
+
+  /**
+   * Scheduler tick: expire overdue jobs and poll the jobs whose interval has elapsed.
+   */
+  private void pollDueJobs() {
+    try {
+      long now = System.nanoTime();
+      List<TrackedJob> batch = new ArrayList<>();
+      for (TrackedJob job : tracked.values()) {
+        if (now - job.deadlineNanos >= 0) {
+          outcome("timeout");
+          job.future.completeExceptionally(
+              new TimeoutException("Cloud job " + job.jobId + " did not finish in time"));
+        } else if (job.claimIfDue(now)) {
+          batch.add(job);
+          if (batch.size() >= settings.getBatchSize()) {
+            sendStatusRequest(batch);
+            batch = new ArrayList<>();
+          }
+        }
+      }
+      if (!batch.isEmpty()) {
+        sendStatusRequest(batch);
+      }
+    } catch (RuntimeException e) {
+      log.error("Cloud job poll failed", e);
+    }
+  }
+
+  private void sendStatusRequest(List<TrackedJob> batch) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("job_ids", batch.stream().map(job -> job.jobId).toList());
+    body.put("wait_seconds", settings.getLongPollWait().toMillis() / 1000.0);
+    polls.increment();
+
+    webClient.post()
+        .uri("/api/jobs/status")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .retrieve()
+        .bodyToMono(JOB_LIST)
+        .timeout(requestTimeout.plus(settings.getLongPollWait()))
+        .toFuture()
+        .whenComplete((jobs, error) -> applyStatuses(batch, jobs, error));
+  }
+
+  private void applyStatuses(List<TrackedJob> batch, List<CloudJob> jobs, Throwable error) {
+    long now = System.nanoTime();
+    if (error != null || jobs == null) {
+      log.warn("Cloud job status request for {} jobs failed: {}",
+          batch.size(), error != null ? error.getMessage() : "empty response");
+      batch.forEach(job -> job.observe(null, now));
+      return;
+    }
+
+    Map<String, CloudJob> byId = new LinkedHashMap<>();
+    for (CloudJob job : jobs) {
+      byId.put(job.getJobId(), job);
+    }
+    for (TrackedJob trackedJob : batch) {
+      CloudJob job = byId.get(trackedJob.jobId);
+      if (job == null) {
+        outcome(CloudJob.STATUS_FAILED);
+        trackedJob.future.completeExceptionally(
+            new ServiceException("Cloud job " + trackedJob.jobId + " no longer exists"));
+      } else if (job.isTerminal()) {
+        finish(trackedJob.future, job);
+      } else {
+        trackedJob.observe(job.getStatus(), now);
+      }
+    }
+  }
+
+  private void finish(CompletableFuture<CloudJob> completion, CloudJob job) {
+    if (completion.isDone()) {
+      return;
+    }
+    outcome(job.getStatus());
+    if (CloudJob.STATUS_FAILED.equals(job.getStatus())) {
+      completion.completeExceptionally(
+          new ServiceException("Cloud job " + job.getJobId() + " failed: " + job.getError()));
+    } else {
+      completion.complete(job);
+    }
+  }
+
+  private void cancelRemote(String jobId) {
+    webClient.delete()
+        .uri("/api/jobs/{jobId}", jobId)
+        .retrieve()
+        .toBodilessEntity()
+        .timeout(requestTimeout)
+        .subscribe(
+            response -> log.debug("Cancelled cloud job {}", jobId),
+            error -> log.debug("Failed to cancel cloud job {}: {}", jobId, error.getMessage()));
+  }
+
+  private void outcome(String outcome) {
+    Counter.builder("rag.cloud.jobs.finished")
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  /**
+   * Polling state of one outstanding job.
+   */
+  private final class TrackedJob {
+
+    private final String jobId;
+    private final CompletableFuture<CloudJob> future;
+    private final long deadlineNanos;
+    private String status;
+    private long intervalNanos;
+    private long nextPollNanos;
+    private boolean polling;
+
+    private TrackedJob(String jobId, CompletableFuture<CloudJob> future, long deadlineNanos,
+                       String status, long intervalNanos) {
+      this.jobId = jobId;
+      this.future = future;
+      this.deadlineNanos = deadlineNanos;
+      this.status = status;
+      this.intervalNanos = intervalNanos;
+      this.nextPollNanos = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * Mark the job as being polled if its interval has elapsed and no poll is in flight.
+     */
+    private synchronized boolean claimIfDue(long now) {
+      if (polling || now - nextPollNanos < 0) {
+        return false;
+      }
+      polling = true;
+      return true;
+    }
+
+    /**
+     * Record a polled status (null if the poll failed) and schedule the next poll:
+     * reset the interval on a status change, back off otherwise.
+     */
+    private synchronized void observe(String newStatus, long now) {
+      if (newStatus != null && !newStatus.equals(status)) {
+        status = newStatus;
+        intervalNanos = settings.getMinPollInterval().toNanos();
+      } else {
+        intervalNanos = Math.min(settings.getMaxPollInterval().toNanos(),
+            (long) (intervalNanos * settings.getBackoffMultiplier()));
+      }
+      nextPollNanos = now + intervalNanos;
+      polling = false;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.dto.CloudJob;
+import com.enterprise.rag.dto.CloudJobRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Agent tool that runs a cloud engine job and returns its result.
+ *
+ * <p>Input: {@code name} (required), {@code parameters} (object) and {@code timeout_seconds}.
+ * Output: {@code job_id}, {@code status} and {@code result}. Cancelling the returned future
+ * cancels the job.
+ */
+@Component
+@RequiredArgsConstructor
+public class CloudJobTool implements AsyncAgentTool {
+
+  public static final String NAME = "cloud_job";
+
+  private final CloudEngineClient cloudEngineClient;
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Run a named cloud engine job and return its status and result";
+  }
+
+  @Override
+  public Map<String, Object> getParameters() {
+    return Map.of(
+        "type", "object",
+        "properties", Map.of(
+            "name", Map.of("type", "string", "description", "Job name"),
+            "parameters", Map.of("type", "object", "description", "Job parameters"),
+            "timeout_seconds", Map.of("type", "integer", "description", "Job timeout")),
+        "required", List.of("name"));
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Object>> executeAsync(
+      Map<String, Object> inputParams, Map<String, Map<String, Object>> dependencyOutputs) {
+    if (!(inputParams.get("name") instanceof String name) || name.isBlank()) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException(NAME + " requires a 'name' parameter"));
+    }
+
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    if (inputParams.get("parameters") instanceof Map<?, ?> given) {
+      given.forEach((key, value) -> parameters.put(String.valueOf(key), value));
+    }
+    Integer timeoutSeconds = inputParams.get("timeout_seconds") instanceof Number number
+        ? number.intValue()
+        : null;
+
+    CloudJobRequest request = CloudJobRequest.builder()
+        .name(name)
+        .parameters(parameters)
+        .timeoutSeconds(timeoutSeconds)
+        .build();
+    Duration timeout = timeoutSeconds != null ? Duration.ofSeconds(timeoutSeconds) : null;
+    CompletableFuture<CloudJob> job = cloudEngineClient.submit(request, timeout);
+    CompletableFuture<Map<String, Object>> output = job.thenApply(CloudJobTool::toOutput);
+    // Cancelling a derived future does not cancel its source; forward it so the job is
+    // cancelled on the engine too
+    output.whenComplete((ignored, error) -> {
+      if (error instanceof CancellationException) {
+        job.cancel(true);
+      }
+    });
+    return output;
+  }
+
+  private static Map<String, Object> toOutput(CloudJob job) {
+    Map<String, Object> output = new LinkedHashMap<>();
+    output.put("job_id", job.getJobId());
+    output.put("status", job.getStatus());
+    output.put("result", job.getResult());
+    return output;
+  }
+}
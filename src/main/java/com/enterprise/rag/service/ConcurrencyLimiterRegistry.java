@@ -0,0 +1,51 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of named {@link AdaptiveConcurrencyLimiter}s.
+ * Each limiter is created on first use from {@code app.concurrency-limit.limiters.<name>}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimiterRegistry {
+
+  /**
+   * Limiter in front of the chat endpoint.
+   */
+  public static final String CHAT = "chat";
+
+  /**
+   * Limiter around LLM API calls.
+   */
+  public static final String LLM = "llm";
+
+  /**
+   * Limiter around vector retrieval queries.
+   */
+  public static final String RETRIEVAL = "retrieval";
+
+  private final ConcurrencyLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+  /**
+   * Get or create the limiter with the given name.
+   *
+   * @param name limiter name
+   * @return the limiter
+   */
+  public AdaptiveConcurrencyLimiter limiter(String name) {
+    return limiters.computeIfAbsent(name, key -> new AdaptiveConcurrencyLimiter(
+        key,
+        properties.getLimiters().getOrDefault(key, new ConcurrencyLimitProperties.Limiter()),
+        properties.isEnabled(),
+        meterRegistry));
+  }
+}
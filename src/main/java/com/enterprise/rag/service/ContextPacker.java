@@ -0,0 +1,278 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.enterprise.rag.util.TokenUtils;
+import com.enterprise.rag.util.ValidationUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chooses which retrieved chunks go into the prompt within the remaining token budget.
+ *
+ * <p>Packing runs in three steps:
+ * <ol>
+ *   <li>MMR: each candidate's relevance is discounted by its similarity to the selected
+ *       candidates ranked above it, so near-duplicates of chosen chunks are worth less.</li>
+ *   <li>Knapsack: a 0/1 knapsack over token counts picks the subset with the highest total
+ *       adjusted relevance that fits the budget.</li>
+ *   <li>Merging: selected chunks with consecutive {@code chunkIndex} in the same document are
+ *       merged into one passage so the prompt carries one label per contiguous span.</li>
+ * </ol>
+ *
+ * <p>Selection depends on the MMR values and the values on the selection, so the first
+ * knapsack runs with penalties against all higher-ranked candidates, then values are
+ * recomputed against the chunks actually selected and the knapsack re-run, until the
+ * selection settles or {@value #MMR_ROUNDS} refinement rounds have run. A unique chunk
+ * therefore does not lose value to a duplicate that was never selected.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ContextPacker {
+
+  /**
+   * Upper bound on knapsack capacity cells; larger budgets are bucketed to keep DP cheap.
+   */
+  private static final int MAX_CAPACITY_CELLS = 1000;
+
+  /**
+   * Rounds of recomputing MMR values against the current selection.
+   */
+  private static final int MMR_ROUNDS = 3;
+
+  private final PromptBuilder promptBuilder;
+
+  @Value("${app.rag.context-window:8192}")
+  private int contextWindow;
+
+  @Value("${app.rag.max-context-tokens:4000}")
+  private int maxContextTokens;
+
+  @Value("${app.rag.mmr-lambda:0.7}")
+  private double mmrLambda;
+
+  /**
+   * Compute the tokens available for retrieved context.
+   *
+   * @param query the user query
+   * @param maxTokens tokens reserved for the completion (may be null)
+   * @return context token budget (never negative)
+   */
+  public int remainingBudget(String query, Integer maxTokens) {
+    int reserved = promptBuilder.getFixedPromptTokens()
+        + TokenUtils.estimateTokens(query)
+        + (maxTokens != null ? maxTokens : 0);
+    return Math.max(0, Math.min(maxContextTokens, contextWindow - reserved));
+  }
+
+  /**
+   * Pack candidate chunks into the token budget.
+   *
+   * @param candidates scored candidates, in any order
+   * @param budget maximum total tokens of the packed context
+   * @return packed passages ordered by descending relevance
+   */
+  public List<RetrievedChunk> pack(List<RetrievedChunk> candidates, int budget) {
+    ValidationUtils.requireNonNull(candidates, "candidates");
+    ValidationUtils.requireNonNegative(budget, "budget");
+    if (candidates.isEmpty() || budget == 0) {
+      return Collections.emptyList();
+    }
+
+    List<RetrievedChunk> ranked = new ArrayList<>(candidates);
+    ranked.sort(Comparator.comparingDouble(RetrievedChunk::getScore).reversed());
+
+    int n = ranked.size();
+    int[] tokens = new int[n];
+    for (int i = 0; i < n; i++) {
+      tokens[i] = tokenCount(ranked.get(i));
+    }
+    double[][] similarity = similarities(ranked);
+    boolean[] selected = knapsack(tokens, mmrValues(ranked, similarity, null), budget);
+    for (int round = 0; round < MMR_ROUNDS; round++) {
+      boolean[] reselected = knapsack(tokens, mmrValues(ranked, similarity, selected), budget);
+      if (Arrays.equals(reselected, selected)) {
+        break;
+      }
+      selected = reselected;
+    }
+
+    List<RetrievedChunk> chosen = new ArrayList<>();
+    int usedTokens = 0;
+    for (int i = 0; i < n; i++) {
+      if (selected[i]) {
+        chosen.add(ranked.get(i));
+        usedTokens += tokens[i];
+      }
+    }
+
+    List<RetrievedChunk> packed = mergeAdjacent(chosen);
+    log.debug("Packed {} of {} candidates into {} passages ({}/{} tokens)",
+        chosen.size(), n, packed.size(), usedTokens, budget);
+    return packed;
+  }
+
+  /**
+   * Pairwise term similarity; {@code [i][j]} is filled for {@code j < i}.
+   */
+  private static double[][] similarities(List<RetrievedChunk> ranked) {
+    int n = ranked.size();
+    List<Set<String>> terms = new ArrayList<>(n);
+    for (RetrievedChunk chunk : ranked) {
+      terms.add(terms(chunk.getContent()));
+    }
+    double[][] similarity = new double[n][];
+    for (int i = 0; i < n; i++) {
+      similarity[i] = new double[i];
+      for (int j = 0; j < i; j++) {
+        similarity[i][j] = jaccard(terms.get(i), terms.get(j));
+      }
+    }
+    return similarity;
+  }
+
+  /**
+   * Maximal marginal relevance value of each candidate, in ranked order.
+   *
+   * @param selected candidates to penalize against, or null for all higher-ranked ones
+   */
+  private double[] mmrValues(List<RetrievedChunk> ranked, double[][] similarity,
+                             boolean[] selected) {
+    int n = ranked.size();
+    double[] values = new double[n];
+    for (int i = 0; i < n; i++) {
+      double maxSimilarity = 0.0;
+      for (int j = 0; j < i; j++) {
+        if (selected == null || selected[j]) {
+          maxSimilarity = Math.max(maxSimilarity, similarity[i][j]);
+        }
+      }
+      double mmr = mmrLambda * ranked.get(i).getScore() - (1 - mmrLambda) * maxSimilarity;
+      values[i] = Math.max(0.0, mmr);
+    }
+    return values;
+  }
+
+  /**
+   * 0/1 knapsack maximizing total value within the token budget.
+   */
+  private static boolean[] knapsack(int[] tokens, double[] values, int budget) {
+    int n = tokens.length;
+    int bucket = Math.max(1, (budget + MAX_CAPACITY_CELLS - 1) / MAX_CAPACITY_CELLS);
+    int capacity = budget / bucket;
+
+    int[] weights = new int[n];
+    for (int i = 0; i < n; i++) {
+      // Round up so the selection never exceeds the real budget
+      weights[i] = (tokens[i] + bucket - 1) / bucket;
+    }
+
+    double[][] best = new double[n + 1][capacity + 1];
+    for (int i = 1; i <= n; i++) {
+      int weight = weights[i - 1];
+      double value = values[i - 1];
+      for (int c = 0; c <= capacity; c++) {
+        best[i][c] = best[i - 1][c];
+        if (weight <= c && value > 0) {
+          best[i][c] = Math.max(best[i][c], best[i - 1][c - weight] + value);
+        }
+      }
+    }
+
+    boolean[] selected = new boolean[n];
+    int c = capacity;
+    for (int i = n; i >= 1; i--) {
+      if (best[i][c] != best[i - 1][c]) {
+        selected[i - 1] = true;
+        c -= weights[i - 1];
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Merge chunks with consecutive indexes in the same document.
+   */
+  private static List<RetrievedChunk> mergeAdjacent(List<RetrievedChunk> chosen) {
+    List<RetrievedChunk> byPosition = new ArrayList<>(chosen);
+    byPosition.sort(Comparator
+        .comparing((RetrievedChunk chunk) -> chunk.getDocumentId().toString())
+        .thenComparing(RetrievedChunk::getChunkIndex));
+
+    List<RetrievedChunk> merged = new ArrayList<>();
+    RetrievedChunk current = null;
+    int lastIndex = 0;
+    for (RetrievedChunk chunk : byPosition) {
+      if (current != null
+          && current.getDocumentId().equals(chunk.getDocumentId())
+          && chunk.getChunkIndex() == lastIndex + 1) {
+        List<UUID> chunkIds = new ArrayList<>(current.passageChunkIds());
+        chunkIds.add(chunk.getChunkId());
+        current = RetrievedChunk.builder()
+            .chunkId(current.getChunkId())
+            .mergedChunkIds(chunkIds)
+            .documentId(current.getDocumentId())
+            .chunkIndex(current.getChunkIndex())
+            .content(current.getContent() + "\n" + chunk.getContent())
+            .tokenCount(tokenCount(current) + tokenCount(chunk))
+            .createdAt(latest(current.getCreatedAt(), chunk.getCreatedAt()))
+            .score(Math.max(current.getScore(), chunk.getScore()))
+            .build();
+      } else {
+        if (current != null) {
+          merged.add(current);
+        }
+        current = chunk;
+      }
+      lastIndex = chunk.getChunkIndex();
+    }
+    if (current != null) {
+      merged.add(current);
+    }
+
+    merged.sort(Comparator.comparingDouble(RetrievedChunk::getScore).reversed());
+    return merged;
+  }
+
+  private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+    if (first == null || second == null) {
+      return null;
+    }
+    return first.isAfter(second) ? first : second;
+  }
+
+  private static int tokenCount(RetrievedChunk chunk) {
+    return chunk.getTokenCount() != null
+        ? chunk.getTokenCount()
+        : TokenUtils.estimateTokens(chunk.getContent());
+  }
+
+  private static Set<String> terms(String content) {
+    return new HashSet<>(Arrays.asList(content.toLowerCase().split("\\W+")));
+  }
+
+  private static double jaccard(Set<String> a, Set<String> b) {
+    if (a.isEmpty() || b.isEmpty()) {
+      return 0.0;
+    }
+    int intersection = 0;
+    for (String term : a) {
+      if (b.contains(term)) {
+        intersection++;
+      }
+    }
+    return (double) intersection / (a.size() + b.size() - intersection);
+  }
+}
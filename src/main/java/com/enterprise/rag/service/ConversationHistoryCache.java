@@ -0,0 +1,338 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.CacheInvalidationBus;
+import com.enterprise.rag.config.HistoryCacheProperties;
+import com.enterprise.rag.domain.Message;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-through cache of conversation histories.
+ *
+ * <p>Each cached history is a Redis list of compact JSON entries under
+ * {@code rag:history:<conversationId>}, headed by a marker element so empty histories are
+ * cached too. Message writes append to lists that are already cached, and deletes drop them,
+ * both after the transaction commits. Misses load the history from the database and fill the
+ * list.
+ *
+ * <p>Every append or delete bumps a per-conversation generation counter; a fill only lands if
+ * the generation it read before querying the database is unchanged, so a history loaded before
+ * a concurrent write can never overwrite the write's append. Entries are de-duplicated by
+ * message ID on read, for the converse race where a fill already contains the appended
+ * message.
+ *
+ * <p>A small Guava near-cache in front of Redis serves the hottest conversations without a
+ * round trip. Writes invalidate it locally and, through {@link CacheInvalidationBus}, on the
+ * other instances; its TTL only bounds staleness if an invalidation is lost. When Redis is
+ * unavailable, reads fall through to the database.
+ */
+@Component
+@Slf4j
+public class ConversationHistoryCache {
+
+  public static final String CACHE_NAME = "conversation.history";
+
+  private static final String KEY_PREFIX = "rag:history:";
+  private static final String GENERATION_SUFFIX = ":gen";
+  private static final String HEADER = "h";
+
+  private static final RedisScript<Long> FILL = new DefaultRedisScript<>("""
+      if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+        return 0
+      end
+      redis.call('DEL', KEYS[1])
+      redis.call('RPUSH', KEYS[1], unpack(ARGV, 3))
+      redis.call('EXPIRE', KEYS[1], ARGV[2])
+      return 1
+      """, Long.class);
+
+  private static final RedisScript<Long> APPEND = new DefaultRedisScript<>("""
+      redis.call('INCR', KEYS[2])
+      redis.call('EXPIRE', KEYS[2], ARGV[2])
+      if redis.call('EXISTS', KEYS[1]) == 0 then
+        return 0
+      end
+      if redis.call('LLEN', KEYS[1]) > tonumber(ARGV[3]) then
+        redis.call('DEL', KEYS[1])
+        return 0
+      end
+      redis.call('RPUSH', KEYS[1], ARGV[1])
+      redis.call('EXPIRE', KEYS[1], ARGV[2])
+      return 1
+      """, Long.class);
+
+  private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>("""
+      redis.call('INCR', KEYS[2])
+      redis.call('EXPIRE', KEYS[2], ARGV[1])
+      return redis.call('DEL', KEYS[1])
+      """, Long.class);
+
+  private final HistoryCacheProperties settings;
+  private final StringRedisTemplate redis;
+  private final ObjectMapper compactMapper;
+  private final Cache<UUID, List<Entry>> nearCache;
+  private final MeterRegistry meterRegistry;
+  private final CacheInvalidationBus invalidationBus;
+
+  public ConversationHistoryCache(HistoryCacheProperties settings, StringRedisTemplate redis,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  CacheInvalidationBus invalidationBus) {
+    this.settings = settings;
+    this.redis = redis;
+    this.compactMapper = objectMapper.copy()
+        .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    this.meterRegistry = meterRegistry;
+    this.nearCache = CacheBuilder.newBuilder()
+        .maximumSize(settings.getNearCache().getMaxEntries())
+        .expireAfterWrite(settings.getNearCache().getTtl().toMillis(), TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, nearCache, "conversation.history.near");
+    this.invalidationBus = invalidationBus;
+    invalidationBus.subscribe(CACHE_NAME, key -> {
+      if (key == null) {
+        nearCache.invalidateAll();
+      } else {
+        nearCache.invalidate(UUID.fromString(key));
+      }
+    });
+  }
+
+  /**
+   * Get a conversation's history, loading and caching it on a miss.
+   * Messages served from the cache are detached copies without a conversation reference.
+   *
+   * @param conversationId the conversation ID
+   * @param loader loads the history from the database; its exceptions propagate
+   * @return messages in chronological order
+   */
+  public List<Message> get(UUID conversationId, Supplier<List<Message>> loader) {
+    if (!settings.isEnabled()) {
+      return loader.get();
+    }
+    List<Entry> entries = nearCache.getIfPresent(conversationId);
+    if (entries == null) {
+      entries = readRemote(conversationId);
+      if (entries != null) {
+        nearCache.put(conversationId, entries);
+      }
+    }
+    if (entries != null) {
+      return toMessages(entries);
+    }
+
+    String generation = currentGeneration(conversationId);
+    List<Message> messages = loader.get();
+    if (generation != null && messages.size() <= settings.getMaxMessages()) {
+      fill(conversationId, generation, messages);
+    }
+    return messages;
+  }
+
+  /**
+   * Append a newly written message to the conversation's cached history, if cached.
+   * Applied after the current transaction commits.
+   *
+   * @param conversationId the conversation ID
+   * @param message the saved message
+   */
+  public void append(UUID conversationId, Message message) {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    afterCommit(() -> {
+      try {
+        redis.execute(APPEND, keys(conversationId), serialize(Entry.of(message)),
+            ttlSeconds(), String.valueOf(settings.getMaxMessages()));
+      } catch (RuntimeException | JsonProcessingException e) {
+        outcome("error");
+        log.warn("Failed to append to cached history of {}: {}", conversationId, e.getMessage());
+      }
+      nearCache.invalidate(conversationId);
+      invalidationBus.publishEvict(CACHE_NAME, conversationId.toString());
+    });
+  }
+
+  /**
+   * Drop the conversation's cached history. Applied after the current transaction commits.
+   *
+   * @param conversationId the conversation ID
+   */
+  public void evict(UUID conversationId) {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    afterCommit(() -> {
+      try {
+        redis.execute(INVALIDATE, keys(conversationId), ttlSeconds());
+      } catch (RuntimeException e) {
+        outcome("error");
+        log.warn("Failed to evict cached history of {}: {}", conversationId, e.getMessage());
+      }
+      nearCache.invalidate(conversationId);
+      invalidationBus.publishEvict(CACHE_NAME, conversationId.toString());
+    });
+  }
+
+  /**
+   * Read a cached history from Redis.
+   *
+   * @return the entries, or null on a miss or error
+   */
+  private List<Entry> readRemote(UUID conversationId) {
+    List<String> values;
+    try {
+      values = redis.opsForList().range(key(conversationId), 0, -1);
+    } catch (RuntimeException e) {
+      outcome("error");
+      log.warn("Failed to read cached history of {}: {}", conversationId, e.getMessage());
+      return null;
+    }
+    if (values == null || values.isEmpty() || !HEADER.equals(values.get(0))) {
+      outcome("miss");
+      return null;
+    }
+
+    Map<UUID, Entry> byId = new LinkedHashMap<>();
+    try {
+      for (String value : values.subList(1, values.size())) {
+        Entry entry = compactMapper.readValue(value, Entry.class);
+        byId.putIfAbsent(entry.id(), entry);
+      }
+    } catch (JsonProcessingException e) {
+      outcome("error");
+      log.warn("Dropping unreadable cached history of {}: {}", conversationId, e.getMessage());
+      redis.delete(key(conversationId));
+      return null;
+    }
+    outcome("hit");
+    return List.copyOf(byId.values());
+  }
+
+  private void fill(UUID conversationId, String generation, List<Message> messages) {
+    try {
+      List<Entry> entries = messages.stream().map(Entry::of).toList();
+      Object[] args = new Object[entries.size() + 3];
+      args[0] = generation;
+      args[1] = ttlSeconds();
+      args[2] = HEADER;
+      for (int i = 0; i < entries.size(); i++) {
+        args[i + 3] = serialize(entries.get(i));
+      }
+      Long filled = redis.execute(FILL, keys(conversationId), args);
+      if (filled != null && filled == 1) {
+        nearCache.put(conversationId, entries);
+      }
+    } catch (RuntimeException | JsonProcessingException e) {
+      outcome("error");
+      log.warn("Failed to cache history of {}: {}", conversationId, e.getMessage());
+    }
+  }
+
+  /**
+   * Read the generation counter before loading from the database.
+   *
+   * @return the generation, or null if Redis is unavailable
+   */
+  private String currentGeneration(UUID conversationId) {
+    try {
+      String generation = redis.opsForValue().get(key(conversationId) + GENERATION_SUFFIX);
+      return generation != null ? generation : "0";
+    } catch (RuntimeException e) {
+      outcome("error");
+      log.warn("Failed to read history generation of {}: {}", conversationId, e.getMessage());
+      return null;
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static List<Message> toMessages(List<Entry> entries) {
+    List<Message> messages = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      messages.add(Message.builder()
+          .id(entry.id())
+          .role(entry.role())
+          .content(entry.content())
+          .timestamp(entry.timestamp())
+          .tokenCount(entry.tokenCount())
+          .metadata(entry.metadata() != null ? new HashMap<>(entry.metadata()) : new HashMap<>())
+          .build());
+    }
+    return messages;
+  }
+
+  private String serialize(Entry entry) throws JsonProcessingException {
+    return compactMapper.writeValueAsString(entry);
+  }
+
+  private String ttlSeconds() {
+    return String.valueOf(Math.max(1, settings.getTtl().toSeconds()));
+  }
+
+  private static String key(UUID conversationId) {
+    return KEY_PREFIX + conversationId;
+  }
+
+  private static List<String> keys(UUID conversationId) {
+    return List.of(key(conversationId), key(conversationId) + GENERATION_SUFFIX);
+  }
+
+  private void outcome(String result) {
+    Counter.builder("rag.history.cache")
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  /**
+   * Compact cached form of a message.
+   */
+  private record Entry(@JsonProperty("i") UUID id,
+                       @JsonProperty("r") String role,
+                       @JsonProperty("c") String content,
+                       @JsonProperty("t") LocalDateTime timestamp,
+                       @JsonProperty("n") Integer tokenCount,
+                       @JsonProperty("m") Map<String, Object> metadata) {
+
+    private static Entry of(Message message) {
+      return new Entry(message.getId(), message.getRole(), message.getContent(),
+          message.getTimestamp(), message.getTokenCount(), message.getMetadata());
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.ConversationPurgeProperties;
+import com.enterprise.rag.repository.AgentExecutionRepository;
+import com.enterprise.rag.repository.ConversationRepository;
+import com.enterprise.rag.repository.MessageRepository;
+import com.enterprise.rag.repository.ToolInvocationRepository;
+import com.enterprise.rag.util.ValidationUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Set-based deletion of conversations with their messages and agent telemetry.
+ *
+ * <p>{@link #deleteConversations(Collection)} removes tool invocations, executions, messages
+ * and conversations with one statement per table, without loading any entity. Purges by user
+ * or age run on a single background thread in short batches: each batch locks up to
+ * {@code batch-size} conversations with {@code FOR UPDATE SKIP LOCKED}, so conversations in
+ * use by chat requests are skipped rather than waited on, deletes them in its own transaction
+ * and then pauses before the next.
+ */
+@Service
+@Slf4j
+public class ConversationPurgeService {
+
+  private final ConversationPurgeProperties properties;
+  private final ConversationRepository conversationRepository;
+  private final MessageRepository messageRepository;
+  private final AgentExecutionRepository agentExecutionRepository;
+  private final ToolInvocationRepository toolInvocationRepository;
+  private final ConversationHistoryCache historyCache;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter purged;
+  private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "conversation-purge");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public ConversationPurgeService(ConversationPurgeProperties properties,
+                                  ConversationRepository conversationRepository,
+                                  MessageRepository messageRepository,
+                                  AgentExecutionRepository agentExecutionRepository,
+                                  ToolInvocationRepository toolInvocationRepository,
+                                  ConversationHistoryCache historyCache,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.conversationRepository = conversationRepository;
+    this.messageRepository = messageRepository;
+    this.agentExecutionRepository = agentExecutionRepository;
+    this.toolInvocationRepository = toolInvocationRepository;
+    this.historyCache = historyCache;
+    this.transactionTemplate = transactionTemplate;
+    this.purged = Counter.builder("rag.conversations.purged")
+        .description("Conversations deleted by bulk deletes and purges")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  void stop() {
+    purgeExecutor.shutdownNow();
+  }
+
+  /**
+   * Delete conversations and everything belonging to them, one statement per table.
+   *
+   * @param conversationIds the conversations to delete
+   * @return rows deleted per table
+   */
+  @Transactional
+  public DeletedRows deleteConversations(Collection<UUID> conversationIds) {
+    if (conversationIds.isEmpty()) {
+      return DeletedRows.NONE;
+    }
+    int toolInvocations = toolInvocationRepository.bulkDeleteByConversationIds(conversationIds);
+    int executions = agentExecutionRepository.bulkDeleteByConversationIds(conversationIds);
+    int messages = messageRepository.bulkDeleteByConversationIds(conversationIds);
+    int conversations = conversationRepository.bulkDeleteByIds(conversationIds);
+    conversationIds.forEach(historyCache::evict);
+    purged.increment(conversations);
+    return new DeletedRows(conversations, messages, executions, toolInvocations);
+  }
+
+  /**
+   * Purge all conversations of a user in the background.
+   *
+   * @param userId the user ID
+   * @return future completed with the total rows deleted
+   */
+  public CompletableFuture<DeletedRows> purgeByUser(String userId) {
+    ValidationUtils.requireNonEmpty(userId, "userId");
+    return submit("user " + userId,
+        limit -> conversationRepository.lockPurgeBatchByUserId(userId, limit));
+  }
+
+  /**
+   * Purge conversations with no activity since the cutoff in the background.
+   *
+   * @param cutoff conversations whose last message (or creation) is before this are purged
+   * @return future completed with the total rows deleted
+   */
+  public CompletableFuture<DeletedRows> purgeInactiveBefore(LocalDateTime cutoff) {
+    ValidationUtils.requireNonNull(cutoff, "cutoff");
+    return submit("inactive before " + cutoff,
+        limit -> conversationRepository.lockPurgeBatchInactiveBefore(cutoff, limit));
+  }
+
+  private CompletableFuture<DeletedRows> submit(String description,
+                                                IntFunction<List<UUID>> lockBatch) {
+    return CompletableFuture.supplyAsync(() -> purge(description, lockBatch), purgeExecutor);
+  }
+
+  /**
+   * Delete batches until a batch comes back empty.
+   * Conversations skipped because they were locked are picked up by a later purge.
+   */
+  private DeletedRows purge(String description, IntFunction<List<UUID>> lockBatch) {
+    log.info("Purging conversations: {}", description);
+    DeletedRows total = DeletedRows.NONE;
+    while (!Thread.currentThread().isInterrupted()) {
+      DeletedRows batch = transactionTemplate.execute(status ->
+          deleteConversations(lockBatch.apply(properties.getBatchSize())));
+      if (batch == null || batch.conversations() == 0) {
+        break;
+      }
+      total = total.plus(batch);
+      log.debug("Purged batch of {} conversations ({})", batch.conversations(), description);
+      try {
+        Thread.sleep(properties.getPause().toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    log.info("Purged {} conversations, {} messages, {} executions and {} tool invocations ({})",
+        total.conversations(), total.messages(), total.executions(), total.toolInvocations(),
+        description);
+    return total;
+  }
+
+  /**
+   * Rows deleted per table.
+   */
+  public record DeletedRows(int conversations, int messages, int executions, int toolInvocations) {
+
+    public static final DeletedRows NONE = new DeletedRows(0, 0, 0, 0);
+
+    public DeletedRows plus(DeletedRows other) {
+      return new DeletedRows(conversations + other.conversations, messages + other.messages,
+          executions + other.executions, toolInvocations + other.toolInvocations);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.enterprise.rag.util.ValidationUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for stateless answer generation.
+ * The answer depends only on the query, retrieved context and generation parameters, so
+ * answers are cached in {@link QueryResultCache} and identical concurrent requests are
+ * coalesced into one generation through {@link RequestCoalescer}. When {@code llm.enabled} is
+ * false a canned mock answer is used.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GenerationService {
+
+  private static final String MOCK_MODEL_NAME = "gpt-4-mock";
+
+  private final RequestCoalescer requestCoalescer;
+  private final QueryResultCache queryResultCache;
+  private final PromptBuilder promptBuilder;
+  private final LlmClient llmClient;
+
+  @Value("${llm.enabled:false}")
+  private boolean llmEnabled;
+
+  @Value("${llm.model:gpt-4}")
+  private String llmModel;
+
+  /**
+   * Get the model name reported for generated answers.
+   *
+   * @return model name
+   */
+  public String getModelName() {
+    return llmEnabled ? llmModel : MOCK_MODEL_NAME;
+  }
+
+  /**
+   * Generate an answer for a query.
+   *
+   * @param query the user query
+   * @param context retrieved chunks to ground the answer in
+   * @param temperature sampling temperature (may be null)
+   * @param maxTokens completion token limit (may be null)
+   * @return generated answer
+   */
+  public String generate(String query, List<RetrievedChunk> context,
+                         Double temperature, Integer maxTokens) {
+    ValidationUtils.requireNonEmpty(query, "query");
+    ValidationUtils.requireNonNull(context, "context");
+
+    StringBuilder key = new StringBuilder(getModelName())
+        .append(':').append(temperature)
+        .append(':').append(maxTokens);
+    for (RetrievedChunk chunk : context) {
+      key.append(':');
+      for (UUID chunkId : chunk.passageChunkIds()) {
+        key.append(chunkId).append('+');
+      }
+    }
+    key.append(':').append(query);
+
+    String generationKey = key.toString();
+    return queryResultCache.get(QueryResultCache.ANSWERS, generationKey, String.class,
+        () -> requestCoalescer.execute("generation", generationKey, () -> llmEnabled
+            ? llmClient.complete(promptBuilder.build(query, context, temperature, maxTokens))
+            : generateMockResponse(query)));
+  }
+
+  /**
+   * Generate mock response based on query patterns.
+   * In production, this would call the LLM service.
+   */
+  private String generateMockResponse(String query) {
+    String lowerQuery = query.toLowerCase();
+
+    if (lowerQuery.contains("rag") || lowerQuery.contains("retrieval")) {
+      return "RAG (Retrieval-Augmented Generation) enhances language models by retrieving relevant "
+          + "information from a knowledge base before generating responses. This grounds the model's "
+          + "outputs in factual data and significantly reduces hallucinations.";
+    } else if (lowerQuery.contains("agent") || lowerQuery.contains("agentic")) {
+      return "Agentic AI systems are autonomous agents that can plan, reason, use tools, and execute "
+          + "multi-step workflows. Unlike traditional chatbots, agents can decompose complex tasks, "
+          + "select appropriate tools, and iterate until goals are achieved.";
+    } else if (lowerQuery.contains("how") || lowerQuery.contains("work")) {
+      return "The system works by: (1) Planning - decomposing your query into subtasks, "
+          + "(2) Retrieval - searching the knowledge base for relevant information, "
+          + "(3) Reasoning - analyzing retrieved context, and "
+          + "(4) Generation - producing a well-grounded response.";
+    } else {
+      return "I understand your question: \"" + query + "\". This is a mock response from the "
+          + "Agentic-RAG system. In production, I would retrieve relevant documents from the "
+          + "knowledge base and generate a comprehensive answer grounded in that context.";
+    }
+  }
+}
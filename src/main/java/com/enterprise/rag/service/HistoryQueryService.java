@@ -0,0 +1,139 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.domain.AgentExecution;
+import com.enterprise.rag.domain.Conversation;
+import com.enterprise.rag.domain.Message;
+import com.enterprise.rag.dto.CursorPage;
+import com.enterprise.rag.exception.ResourceNotFoundException;
+import com.enterprise.rag.repository.AgentExecutionRepository;
+import com.enterprise.rag.repository.ConversationRepository;
+import com.enterprise.rag.repository.MessageRepository;
+import com.enterprise.rag.util.CursorCodec;
+import com.enterprise.rag.util.ValidationUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cursor-paginated listings of conversations, messages and agent executions, and full
+ * conversation histories for {@link ConversationHistoryCache} misses.
+ *
+ * <p>Pages are fetched by keyset: each query seeks past the (timestamp, id) of the previous
+ * page's last row using a composite index, so every page costs the same regardless of depth
+ * and no count query is run. Cursors are opaque tokens from {@link CursorCodec}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HistoryQueryService {
+
+  public static final int MAX_PAGE_SIZE = 100;
+
+  private final ConversationRepository conversationRepository;
+  private final MessageRepository messageRepository;
+  private final AgentExecutionRepository agentExecutionRepository;
+
+  /**
+   * List a user's conversations, newest first.
+   *
+   * @param userId the user ID
+   * @param cursor cursor from the previous page, or null for the first page
+   * @param limit page size (1 to {@value #MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  public CursorPage<Conversation> conversationsForUser(String userId, String cursor, int limit) {
+    ValidationUtils.requireNonEmpty(userId, "userId");
+    ValidationUtils.validateRange(limit, 1, MAX_PAGE_SIZE, "limit");
+    List<Conversation> rows = cursor == null
+        ? conversationRepository.findFirstPageByUserId(userId, limit + 1)
+        : withPosition(cursor, position -> conversationRepository.findPageByUserIdAfter(
+            userId, position.timestamp(), position.id(), limit + 1));
+    return page(rows, limit, Conversation::getCreatedAt, Conversation::getId);
+  }
+
+  /**
+   * List a conversation's messages, oldest first.
+   *
+   * @param conversationId the conversation ID
+   * @param cursor cursor from the previous page, or null for the first page
+   * @param limit page size (1 to {@value #MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  public CursorPage<Message> messagesForConversation(UUID conversationId, String cursor, int limit) {
+    ValidationUtils.requireNonNull(conversationId, "conversationId");
+    ValidationUtils.validateRange(limit, 1, MAX_PAGE_SIZE, "limit");
+    List<Message> rows = cursor == null
+        ? firstMessagePage(conversationId, limit + 1)
+        : withPosition(cursor, position -> messageRepository.findPageByConversationIdAfter(
+            conversationId, position.timestamp(), position.id(), limit + 1));
+    return page(rows, limit, Message::getTimestamp, Message::getId);
+  }
+
+  /**
+   * Load a conversation's full history, oldest first.
+   *
+   * @param conversationId the conversation ID
+   * @return all messages of the conversation
+   * @throws ResourceNotFoundException if the conversation doesn't exist
+   */
+  public List<Message> conversationHistory(UUID conversationId) {
+    ValidationUtils.requireNonNull(conversationId, "conversationId");
+    Conversation conversation = conversationRepository.findById(conversationId)
+        .orElseThrow(() -> new ResourceNotFoundException("Conversation", conversationId.toString()));
+    // Bounded by the creation time so partitions older than the conversation are pruned
+    return messageRepository.findByConversationIdAndTimestampGreaterThanEqualOrderByTimestampAsc(
+        conversationId, conversation.getCreatedAt());
+  }
+
+  /**
+   * List executions of an agent type, newest first.
+   *
+   * @param agentType the agent type
+   * @param cursor cursor from the previous page, or null for the first page
+   * @param limit page size (1 to {@value #MAX_PAGE_SIZE})
+   * @return the page and the cursor for the next one
+   */
+  public CursorPage<AgentExecution> executionsForAgentType(String agentType, String cursor, int limit) {
+    ValidationUtils.requireNonEmpty(agentType, "agentType");
+    ValidationUtils.validateRange(limit, 1, MAX_PAGE_SIZE, "limit");
+    List<AgentExecution> rows = cursor == null
+        ? agentExecutionRepository.findFirstPageByAgentType(agentType, limit + 1)
+        : withPosition(cursor, position -> agentExecutionRepository.findPageByAgentTypeAfter(
+            agentType, position.timestamp(), position.id(), limit + 1));
+    return page(rows, limit, AgentExecution::getStartedAt, AgentExecution::getId);
+  }
+
+  /**
+   * First page of messages, bounded below by the conversation's creation time for pruning.
+   */
+  private List<Message> firstMessagePage(UUID conversationId, int limit) {
+    return conversationRepository.findById(conversationId)
+        .map(conversation -> messageRepository.findFirstPageByConversationId(
+            conversationId, conversation.getCreatedAt(), limit))
+        .orElse(List.of());
+  }
+
+  private static <T> List<T> withPosition(String cursor,
+                                          Function<CursorCodec.Position, List<T>> query) {
+    return query.apply(CursorCodec.decode(cursor));
+  }
+
+  /**
+   * Trim the look-ahead row and derive the next cursor from the last row kept.
+   */
+  private static <T> CursorPage<T> page(List<T> rows, int limit,
+                                        Function<T, LocalDateTime> timestamp,
+                                        Function<T, UUID> id) {
+    if (rows.size() <= limit) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> items = List.copyOf(rows.subList(0, limit));
+    T last = items.get(limit - 1);
+    return new CursorPage<>(items, CursorCodec.encode(timestamp.apply(last), id.apply(last)));
+  }
+}
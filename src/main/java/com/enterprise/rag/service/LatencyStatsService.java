@@ -0,0 +1,256 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.LatencyStatsProperties;
+import com.enterprise.rag.domain.AgentExecution;
+import com.enterprise.rag.domain.ToolInvocation;
+import com.enterprise.rag.dto.LatencySummary;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Streaming latency percentiles per agent type and tool name.
+ *
+ * <p>Completed executions are recorded into lock-free HdrHistogram recorders. On every rollup
+ * tick each recorder's interval histogram is persisted to {@code rag.latency_rollups}, then the
+ * rollups of the sliding window are merged and their percentiles stored as immutable
+ * snapshots, so {@link #summary(String, String)} is a map lookup. Rollup rows keep the
+ * compressed histogram, so any range of intervals or instances can be merged exactly.
+ *
+ * <p>Percentiles are cluster-wide: every refresh, including the one at startup, re-reads the
+ * window's rollups of all instances, so every instance serves the same numbers. A sample is
+ * counted once its instance has rolled it up, at most one rollup interval after it was
+ * recorded. A refresh that cannot read the rollups keeps the previous snapshots.
+ *
+ * <p>Replaces {@code AVG(execution_time_ms)} scans, which grow with the tables and only give
+ * a mean.
+ */
+@Service
+@Slf4j
+public class LatencyStatsService {
+
+  public static final String AGENT = "agent";
+  public static final String TOOL = "tool";
+
+  private static final String INSERT_ROLLUP =
+      "INSERT INTO rag.latency_rollups (subject_type, subject_name, bucket_start, instance_id, "
+          + "bucket_seconds, sample_count, mean_ms, p50_ms, p95_ms, p99_ms, max_ms, histogram) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+  private static final String SELECT_ROLLUPS_SINCE =
+      "SELECT subject_type, subject_name, histogram FROM rag.latency_rollups "
+          + "WHERE bucket_start >= ?";
+
+  private static final String DELETE_ROLLUPS_BEFORE =
+      "DELETE FROM rag.latency_rollups WHERE bucket_start < ?";
+
+  private final LatencyStatsProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Map<SubjectKey, Series> series = new ConcurrentHashMap<>();
+  private volatile Map<SubjectKey, LatencySummary> snapshots = Map.of();
+  private LocalDateTime intervalStart = LocalDateTime.now();
+
+  public LatencyStatsService(LatencyStatsProperties properties, JdbcTemplate jdbcTemplate) {
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Record one latency sample.
+   *
+   * @param subjectType {@link #AGENT} or {@link #TOOL}
+   * @param subjectName agent type or tool name
+   * @param millis latency in milliseconds (negative samples are ignored)
+   */
+  public void record(String subjectType, String subjectName, long millis) {
+    if (!properties.isEnabled() || subjectName == null || millis < 0) {
+      return;
+    }
+    series.computeIfAbsent(new SubjectKey(subjectType, subjectName),
+        key -> new Series(properties.getSignificantDigits())).recorder.recordValue(millis);
+  }
+
+  /**
+   * Record a finished execution and its tool invocations.
+   * Invocations served from the tool result cache are skipped, as they say nothing about the
+   * tool's own latency.
+   *
+   * @param execution the finished execution
+   */
+  public void recordExecution(AgentExecution execution) {
+    if (execution.getExecutionTimeMs() != null) {
+      record(AGENT, execution.getAgentType(), execution.getExecutionTimeMs());
+    }
+    for (ToolInvocation invocation : execution.getToolInvocations()) {
+      if (invocation.getExecutionTimeMs() != null && !Boolean.TRUE.equals(invocation.getCacheHit())) {
+        record(TOOL, invocation.getToolName(), invocation.getExecutionTimeMs());
+      }
+    }
+  }
+
+  /**
+   * Get the latest percentiles of a subject over the stats window.
+   *
+   * @param subjectType {@link #AGENT} or {@link #TOOL}
+   * @param subjectName agent type or tool name
+   * @return the summary, or empty if there are no samples in the window
+   */
+  public Optional<LatencySummary> summary(String subjectType, String subjectName) {
+    return Optional.ofNullable(snapshots.get(new SubjectKey(subjectType, subjectName)));
+  }
+
+  /**
+   * Get the latest percentiles of every subject with samples in the window.
+   *
+   * @return summaries ordered by subject type and name
+   */
+  public List<LatencySummary> summaries() {
+    return snapshots.values().stream()
+        .sorted(Comparator.comparing(LatencySummary::getSubjectType)
+            .thenComparing(LatencySummary::getSubjectName))
+        .toList();
+  }
+
+  /**
+   * Load the window from persisted rollups of all instances.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  synchronized void loadWindow() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    refreshSnapshots(LocalDateTime.now().minus(properties.getWindow()));
+    log.info("Loaded latency window for {} subjects", snapshots.size());
+  }
+
+  /**
+   * Close the current interval: persist its histograms, then refresh snapshots from the window.
+   */
+  @Scheduled(fixedDelayString = "#{@latencyStatsProperties.rollupInterval.toMillis()}")
+  public synchronized void rollup() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime bucketStart = intervalStart;
+    int bucketSeconds = (int) Duration.between(bucketStart, now).toSeconds();
+    intervalStart = now;
+
+    List<Object[]> rows = new ArrayList<>();
+    series.forEach((key, subject) -> {
+      Histogram histogram = subject.recorder.getIntervalHistogram();
+      if (histogram.getTotalCount() > 0) {
+        rows.add(rollupRow(key, bucketStart, bucketSeconds, histogram));
+      }
+    });
+
+    try {
+      if (!rows.isEmpty()) {
+        jdbcTemplate.batchUpdate(INSERT_ROLLUP, rows);
+      }
+      jdbcTemplate.update(DELETE_ROLLUPS_BEFORE, Timestamp.valueOf(now.minus(properties.getRetention())));
+    } catch (RuntimeException e) {
+      log.warn("Failed to persist {} latency rollups: {}", rows.size(), e.getMessage());
+    }
+    refreshSnapshots(now.minus(properties.getWindow()));
+  }
+
+  /**
+   * Merge every instance's rollups since the window start and recompute each subject's
+   * percentiles.
+   */
+  private void refreshSnapshots(LocalDateTime windowStart) {
+    Map<SubjectKey, Histogram> merged = new HashMap<>();
+    try {
+      jdbcTemplate.query(SELECT_ROLLUPS_SINCE, row -> {
+        try {
+          Histogram histogram = Histogram.decodeFromCompressedByteBuffer(
+              ByteBuffer.wrap(row.getBytes("histogram")), 0);
+          SubjectKey key = new SubjectKey(row.getString("subject_type"), row.getString("subject_name"));
+          merged.computeIfAbsent(key, ignored -> new Histogram(properties.getSignificantDigits()))
+              .add(histogram);
+        } catch (DataFormatException e) {
+          log.warn("Skipping undecodable latency rollup: {}", e.getMessage());
+        }
+      }, Timestamp.valueOf(windowStart));
+    } catch (RuntimeException e) {
+      log.warn("Could not load latency rollups, keeping previous snapshots: {}", e.getMessage());
+      return;
+    }
+
+    LocalDateTime asOf = LocalDateTime.now();
+    Map<SubjectKey, LatencySummary> refreshed = new HashMap<>();
+    merged.forEach((key, histogram) -> refreshed.put(key, toSummary(key, histogram, asOf)));
+    snapshots = Map.copyOf(refreshed);
+  }
+
+  private Object[] rollupRow(SubjectKey key, LocalDateTime bucketStart, int bucketSeconds,
+                             Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return new Object[] {
+        key.type(),
+        key.name(),
+        Timestamp.valueOf(bucketStart),
+        instanceId,
+        bucketSeconds,
+        histogram.getTotalCount(),
+        histogram.getMean(),
+        histogram.getValueAtPercentile(50),
+        histogram.getValueAtPercentile(95),
+        histogram.getValueAtPercentile(99),
+        histogram.getMaxValue(),
+        Arrays.copyOf(buffer.array(), length)
+    };
+  }
+
+  private static LatencySummary toSummary(SubjectKey key, Histogram histogram, LocalDateTime asOf) {
+    return LatencySummary.builder()
+        .subjectType(key.type())
+        .subjectName(key.name())
+        .count(histogram.getTotalCount())
+        .meanMs(histogram.getMean())
+        .p50Ms(histogram.getValueAtPercentile(50))
+        .p95Ms(histogram.getValueAtPercentile(95))
+        .p99Ms(histogram.getValueAtPercentile(99))
+        .maxMs(histogram.getMaxValue())
+        .asOf(asOf)
+        .build();
+  }
+
+  private record SubjectKey(String type, String name) {
+  }
+
+  /**
+   * Live recorder of one subject.
+   */
+  private static final class Series {
+
+    private final Recorder recorder;
+
+    private Series(int significantDigits) {
+      this.recorder = new Recorder(significantDigits);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.exception.ServiceException;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the OpenAI-compatible chat completions API (llm-mock locally).
+ * Request bodies are pre-assembled by {@link PromptBuilder} and sent as raw bytes.
+ */
+@Component
+@Slf4j
+public class LlmClient {
+
+  private final WebClient webClient;
+  private final Duration timeout;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  public LlmClient(WebClient.Builder webClientBuilder,
+                   ConcurrencyLimiterRegistry concurrencyLimiterRegistry,
+                   @Value("${llm.base-url}") String baseUrl,
+                   @Value("${llm.api-key}") String apiKey,
+                   @Value("${llm.timeout:30000}") long timeoutMs) {
+    this.webClient = webClientBuilder
+        .baseUrl(baseUrl)
+        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+        .build();
+    this.timeout = Duration.ofMillis(timeoutMs);
+    this.limiter = concurrencyLimiterRegistry.limiter(ConcurrencyLimiterRegistry.LLM);
+  }
+
+  /**
+   * Send a chat completion request and return the first choice's content.
+   *
+   * @param prompt the assembled request body
+   * @return the completion text
+   * @throws ServiceException if the call fails or the response has no content
+   * @throws com.enterprise.rag.exception.ServiceOverloadedException if the LLM limit is reached
+   */
+  public String complete(PromptBuilder.AssembledPrompt prompt) {
+    return limiter.execute(() -> send(prompt));
+  }
+
+  private String send(PromptBuilder.AssembledPrompt prompt) {
+    log.debug("Sending chat completion ({} bytes, ~{} prompt tokens)",
+        prompt.body().length, prompt.promptTokens());
+
+    JsonNode response;
+    try {
+      response = webClient.post()
+          .uri("/v1/chat/completions")
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(prompt.body())
+          .retrieve()
+          .bodyToMono(JsonNode.class)
+          .block(timeout);
+    } catch (RuntimeException e) {
+      throw new ServiceException("LLM request failed: " + e.getMessage(), e);
+    }
+
+    JsonNode content = response == null ? null : response.at("/choices/0/message/content");
+    if (content == null || content.isMissingNode() || content.isNull()) {
+      throw new ServiceException("LLM response contained no completion");
+    }
+    return content.asText();
+  }
+}
@@ -0,0 +1,130 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.PartitioningProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates and expires the monthly partitions of messages and agent telemetry.
+ *
+ * <p>Runs at startup and on {@code app.partitioning.cron}: partitions are created
+ * {@code months-ahead} months in advance so inserts always have a target, and partitions older
+ * than a table's retention are dropped whole. A transaction-scoped advisory lock keeps
+ * concurrent instances from running maintenance at the same time.
+ *
+ * <p>Rows outside every monthly partition land in the table's DEFAULT partition
+ * (V10__default_partitions.sql). Creating a month's partition moves that month's rows out of
+ * it; rows left behind are published as {@code rag.partitions.default.rows} and logged as a
+ * warning after each run.
+ */
+@Service
+@Slf4j
+public class PartitionMaintenanceService {
+
+  /**
+   * Tables partitioned by month in V6__monthly_partitioning.sql.
+   */
+  public static final List<String> PARTITIONED_TABLES =
+      List.of("messages", "agent_executions", "tool_invocations");
+
+  private static final long ADVISORY_LOCK_KEY = 0x7261675F70617274L;
+
+  private final PartitioningProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<String, AtomicLong> defaultPartitionRows = new ConcurrentHashMap<>();
+
+  public PartitionMaintenanceService(PartitioningProperties properties, JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+    for (String table : properties.getRetentionMonths().keySet()) {
+      if (!PARTITIONED_TABLES.contains(table)) {
+        throw new IllegalArgumentException("Retention configured for unpartitioned table: " + table);
+      }
+    }
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    for (String table : PARTITIONED_TABLES) {
+      AtomicLong rows = new AtomicLong();
+      defaultPartitionRows.put(table, rows);
+      Gauge.builder("rag.partitions.default.rows", rows, AtomicLong::get)
+          .description("Rows in a table's DEFAULT partition, outside every monthly partition")
+          .tag("table", table)
+          .register(meterRegistry);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onStartup() {
+    maintainPartitions();
+  }
+
+  /**
+   * Create upcoming partitions and drop expired ones for every partitioned table.
+   */
+  @Scheduled(cron = "${app.partitioning.cron:0 15 3 * * *}")
+  public void maintainPartitions() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        Boolean locked = jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+          log.debug("Partition maintenance already running on another instance");
+          return;
+        }
+        for (String table : PARTITIONED_TABLES) {
+          maintain(table);
+        }
+      });
+    } catch (RuntimeException e) {
+      log.error("Partition maintenance failed", e);
+    }
+  }
+
+  private void maintain(String table) {
+    Integer created = jdbcTemplate.queryForObject(
+        "SELECT rag.ensure_monthly_partitions(?, ?)", Integer.class,
+        table, properties.getMonthsAhead());
+
+    int retentionMonths = properties.getRetentionMonths().getOrDefault(table, 0);
+    Integer dropped = 0;
+    if (retentionMonths > 0) {
+      LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+      dropped = jdbcTemplate.queryForObject(
+          "SELECT rag.drop_monthly_partitions_before(?, ?)", Integer.class,
+          table, Date.valueOf(cutoff));
+    }
+
+    if ((created != null && created > 0) || (dropped != null && dropped > 0)) {
+      log.info("Partitions of {}: created {}, dropped {}", table, created, dropped);
+    }
+
+    // Table names come from PARTITIONED_TABLES, never from input
+    Long misplaced = jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM rag." + table + "_default", Long.class);
+    long rows = misplaced != null ? misplaced : 0L;
+    defaultPartitionRows.get(table).set(rows);
+    if (rows > 0) {
+      log.warn("{} rows of {} are in its DEFAULT partition, outside every monthly partition",
+          rows, table);
+    }
+  }
+}
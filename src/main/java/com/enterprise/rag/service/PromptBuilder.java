@@ -0,0 +1,238 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.enterprise.rag.exception.ServiceException;
+import com.enterprise.rag.util.TokenUtils;
+import com.enterprise.rag.util.ValidationUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Assembles LLM chat-completion request bodies from pre-rendered fragments.
+ *
+ * <p>The system prompt, tool schemas and formatted chunk context are rendered once into
+ * JSON-escaped UTF-8 bytes with their token counts. Chunk fragments are cached by chunk ID and
+ * a SHA-256 of the chunk content and reused across conversations, so a request body is built
+ * by copying cached byte segments; only the user query is escaped per request.
+ *
+ * <p>With {@code app.prompt.offer-tools}, the schemas of all {@link AgentTool} beans are
+ * rendered at startup and offered in every request. It is off by default because the chat
+ * path reads only the answer content and does not act on tool calls.
+ */
+@Component
+@Slf4j
+public class PromptBuilder {
+
+  private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+
+  private static final byte[] USER_MESSAGE = ascii("\"},{\"role\":\"user\",\"content\":\"");
+  private static final byte[] MESSAGES_END = ascii("\"}]");
+  private static final byte[] TOOLS_FIELD = ascii(",\"tools\":");
+  private static final byte[] TEMPERATURE_FIELD = ascii(",\"temperature\":");
+  private static final byte[] MAX_TOKENS_FIELD = ascii(",\"max_tokens\":");
+  private static final byte[] BODY_END = ascii("}");
+
+  private final ObjectMapper objectMapper;
+  private final byte[] bodyPrefix;
+  private final Fragment systemFragment;
+  private final Fragment contextHeader;
+  private final Cache<ChunkKey, Fragment> chunkFragments;
+  private volatile Fragment tools = new Fragment(new byte[0], 0);
+
+  public PromptBuilder(ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${llm.model:gpt-4}") String model,
+                       @Value("${app.prompt.system-prompt}") String systemPrompt,
+                       @Value("${app.prompt.fragment-cache-size:10000}") long fragmentCacheSize,
+                       @Value("${app.prompt.offer-tools:false}") boolean offerTools,
+                       List<AgentTool> agentTools) {
+    this.objectMapper = objectMapper;
+    this.bodyPrefix = concat(List.of(
+        ascii("{\"model\":\""),
+        ENCODER.quoteAsUTF8(model),
+        ascii("\",\"messages\":[{\"role\":\"system\",\"content\":\"")));
+    this.systemFragment = render(systemPrompt);
+    this.contextHeader = render("\n\nUse the following context to answer. Cite sources by label.\n\n");
+    this.chunkFragments = CacheBuilder.newBuilder()
+        .maximumSize(fragmentCacheSize)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, chunkFragments, "prompt.fragments");
+    if (offerTools) {
+      registerTools(agentTools.stream().map(PromptBuilder::toolSchema).toList());
+    }
+  }
+
+  /**
+   * Get the tokens every prompt spends on the system prompt, context header and tool schemas.
+   *
+   * @return fixed prompt token count
+   */
+  public int getFixedPromptTokens() {
+    return systemFragment.tokenCount() + contextHeader.tokenCount() + tools.tokenCount();
+  }
+
+  /**
+   * Register the tool schemas offered to the model.
+   * Schemas are serialized once here and copied verbatim into every request body.
+   *
+   * @param toolSchemas OpenAI-style tool definitions (empty to offer no tools)
+   * @throws ServiceException if the schemas cannot be serialized
+   */
+  public void registerTools(List<Map<String, Object>> toolSchemas) {
+    ValidationUtils.requireNonNull(toolSchemas, "toolSchemas");
+    if (toolSchemas.isEmpty()) {
+      tools = new Fragment(new byte[0], 0);
+      return;
+    }
+    try {
+      byte[] schemas = objectMapper.writeValueAsBytes(toolSchemas);
+      tools = new Fragment(concat(List.of(TOOLS_FIELD, schemas)),
+          TokenUtils.estimateTokens(new String(schemas, StandardCharsets.UTF_8)));
+      log.info("Registered {} tool schemas ({} bytes, ~{} tokens)", toolSchemas.size(),
+          tools.bytes().length, tools.tokenCount());
+    } catch (JsonProcessingException e) {
+      throw new ServiceException("Failed to serialize tool schemas", e);
+    }
+  }
+
+  /**
+   * Assemble a chat-completion request body.
+   *
+   * @param query the user query
+   * @param context retrieved chunks to include, in prompt order
+   * @param temperature sampling temperature (may be null)
+   * @param maxTokens completion token limit (may be null)
+   * @return the UTF-8 JSON body and its estimated prompt token count
+   */
+  public AssembledPrompt build(String query, List<RetrievedChunk> context,
+                               Double temperature, Integer maxTokens) {
+    ValidationUtils.requireNonEmpty(query, "query");
+
+    List<byte[]> segments = new ArrayList<>(context.size() + 12);
+    int promptTokens = systemFragment.tokenCount();
+    segments.add(bodyPrefix);
+    segments.add(systemFragment.bytes());
+
+    if (!context.isEmpty()) {
+      segments.add(contextHeader.bytes());
+      promptTokens += contextHeader.tokenCount();
+      for (RetrievedChunk chunk : context) {
+        Fragment fragment = chunkFragment(chunk);
+        segments.add(fragment.bytes());
+        promptTokens += fragment.tokenCount();
+      }
+    }
+
+    segments.add(USER_MESSAGE);
+    segments.add(ENCODER.quoteAsUTF8(query));
+    promptTokens += TokenUtils.estimateTokens(query);
+    segments.add(MESSAGES_END);
+    Fragment toolsFragment = tools;
+    segments.add(toolsFragment.bytes());
+    promptTokens += toolsFragment.tokenCount();
+    if (temperature != null) {
+      segments.add(TEMPERATURE_FIELD);
+      segments.add(ascii(temperature.toString()));
+    }
+    if (maxTokens != null) {
+      segments.add(MAX_TOKENS_FIELD);
+      segments.add(ascii(maxTokens.toString()));
+    }
+    segments.add(BODY_END);
+
+    return new AssembledPrompt(concat(segments), promptTokens);
+  }
+
+  /**
+   * Get the cached fragment for a chunk, rendering it on first use.
+   */
+  Fragment chunkFragment(RetrievedChunk chunk) {
+    ChunkKey key = new ChunkKey(chunk.passageChunkIds(), chunk.getCreatedAt());
+    Fragment cached = chunkFragments.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    Fragment fragment = render("[doc:" + chunk.getDocumentId() + "#" + chunk.getChunkIndex() + "]\n"
+        + chunk.getContent() + "\n\n");
+    chunkFragments.put(key, fragment);
+    return fragment;
+  }
+
+  /**
+   * OpenAI-style function definition of an agent tool.
+   */
+  private static Map<String, Object> toolSchema(AgentTool tool) {
+    Map<String, Object> function = new LinkedHashMap<>();
+    function.put("name", tool.getName());
+    function.put("description", tool.getDescription());
+    function.put("parameters", tool.getParameters());
+    Map<String, Object> schema = new LinkedHashMap<>();
+    schema.put("type", "function");
+    schema.put("function", function);
+    return schema;
+  }
+
+  private static Fragment render(String text) {
+    return new Fragment(ENCODER.quoteAsUTF8(text), TokenUtils.estimateTokens(text));
+  }
+
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] concat(List<byte[]> segments) {
+    int length = 0;
+    for (byte[] segment : segments) {
+      length += segment.length;
+    }
+    byte[] result = new byte[length];
+    int offset = 0;
+    for (byte[] segment : segments) {
+      System.arraycopy(segment, 0, result, offset, segment.length);
+      offset += segment.length;
+    }
+    return result;
+  }
+
+  /**
+   * Cache key for a chunk fragment: the passage's chunk IDs and their latest creation time.
+   * Chunks are never updated, so these identify the content without reading it.
+   */
+  private record ChunkKey(List<UUID> chunkIds, LocalDateTime createdAt) {
+  }
+
+  /**
+   * Pre-rendered prompt text as JSON-escaped UTF-8 bytes (without quotes).
+   *
+   * @param bytes escaped UTF-8 bytes, shared and never modified
+   * @param tokenCount estimated token count of the unescaped text
+   */
+  public record Fragment(byte[] bytes, int tokenCount) {
+  }
+
+  /**
+   * A complete chat-completion request body.
+   *
+   * @param body UTF-8 encoded JSON body
+   * @param promptTokens estimated prompt token count
+   */
+  public record AssembledPrompt(byte[] body, int promptTokens) {
+  }
+}
@@ -0,0 +1,142 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.QueryCacheProperties;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through caching of query pipeline results: query embeddings, retrieved candidates and
+ * generated answers.
+ *
+ * <p>Entries are kept in the application {@link CacheManager} (local L1 over Redis) under a
+ * SHA-256 of the stage's key, so long queries do not end up in Redis keys. Misses run the
+ * loader, which for every stage goes through {@link RequestCoalescer}, so concurrent misses
+ * for the same query still compute once. Cache failures are logged and the loader's result
+ * returned; they never fail a request.
+ *
+ * <p>The outcome of each thread's latest lookup per cache is kept, so callers can tag the
+ * pipeline stage that made it (see {@link ChatStageMetrics}). Request entry points clear them
+ * with {@link #clearLookups} when the request ends.
+ */
+@Component
+@Slf4j
+public class QueryResultCache {
+
+  public static final String EMBEDDINGS = "query.embeddings";
+  public static final String RETRIEVAL = "query.retrieval";
+  public static final String ANSWERS = "query.answers";
+
+  /**
+   * Lookup outcomes reported by {@link #lastLookup}.
+   */
+  public static final String HIT = "hit";
+  public static final String MISS = "miss";
+  public static final String OFF = "off";
+
+  private final QueryCacheProperties settings;
+  private final CacheManager cacheManager;
+  private final MeterRegistry meterRegistry;
+  private final ThreadLocal<Map<String, String>> lastLookups = ThreadLocal.withInitial(HashMap::new);
+
+  public QueryResultCache(QueryCacheProperties settings, CacheManager cacheManager,
+                          MeterRegistry meterRegistry) {
+    this.settings = settings;
+    this.cacheManager = cacheManager;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Get a cached result, computing and caching it on a miss.
+   *
+   * @param cacheName one of {@link #EMBEDDINGS}, {@link #RETRIEVAL} or {@link #ANSWERS}
+   * @param key identity of the result within the cache
+   * @param type the result type
+   * @param loader computes the result; its exceptions propagate
+   * @param <T> the result type
+   * @return the cached or computed result
+   */
+  public <T> T get(String cacheName, String key, Class<T> type, Supplier<T> loader) {
+    if (!isEnabled(cacheName)) {
+      lastLookups.get().put(cacheName, OFF);
+      return loader.get();
+    }
+    Cache cache = cacheManager.getCache(cacheName);
+    String hashedKey = Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+    try {
+      T cached = cache.get(hashedKey, type);
+      if (cached != null) {
+        outcome(cacheName, HIT);
+        lastLookups.get().put(cacheName, HIT);
+        return cached;
+      }
+      outcome(cacheName, MISS);
+    } catch (RuntimeException e) {
+      outcome(cacheName, "error");
+      log.warn("Failed to read {} cache: {}", cacheName, e.getMessage());
+    }
+    lastLookups.get().put(cacheName, MISS);
+
+    T value = loader.get();
+    if (value != null) {
+      try {
+        cache.put(hashedKey, value);
+      } catch (RuntimeException e) {
+        outcome(cacheName, "error");
+        log.warn("Failed to write {} cache: {}", cacheName, e.getMessage());
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Outcome of the calling thread's latest lookup in a cache.
+   *
+   * @param cacheName one of {@link #EMBEDDINGS}, {@link #RETRIEVAL} or {@link #ANSWERS}
+   * @return {@link #HIT}, {@link #MISS} (including read errors), {@link #OFF} if the cache is
+   *     disabled, or null if this thread has not looked it up since {@link #clearLookup}
+   */
+  public String lastLookup(String cacheName) {
+    return lastLookups.get().get(cacheName);
+  }
+
+  /**
+   * Forget the calling thread's latest lookup in a cache, before work that may look it up.
+   */
+  public void clearLookup(String cacheName) {
+    lastLookups.get().remove(cacheName);
+  }
+
+  /**
+   * Forget all of the calling thread's lookups, when the request that made them ends.
+   */
+  public void clearLookups() {
+    lastLookups.remove();
+  }
+
+  private boolean isEnabled(String cacheName) {
+    return switch (cacheName) {
+      case EMBEDDINGS -> settings.isEmbeddings();
+      case RETRIEVAL -> settings.isRetrieval();
+      case ANSWERS -> settings.isAnswers();
+      default -> throw new IllegalArgumentException("Unknown query cache: " + cacheName);
+    };
+  }
+
+  private void outcome(String cacheName, String result) {
+    Counter.builder("rag.query.cache")
+        .tag("cache", cacheName)
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+}
@@ -0,0 +1,276 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical in-flight work.
+ *
+ * <p>Concurrent callers that submit the same {@code (stage, key)} pair share one in-flight
+ * computation: the first caller (the leader) runs the loader, every other caller receives a
+ * future completed with the leader's result. Each caller gets its own future, so cancelling
+ * one waiter does not affect the others; the underlying work is only cancelled once every
+ * waiter has left.
+ *
+ * <p>Shared results are handed to several callers and must be treated as immutable.
+ *
+ * REQ-PERF-001: Avoid recomputing identical embedding, retrieval and generation work.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+  private final ConcurrentMap<FlightKey, Flight<?>> flights = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+
+  public RequestCoalescer(MeterRegistry meterRegistry,
+                          @Value("${app.coalescing.enabled:true}") boolean enabled) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    Gauge.builder("rag.coalescer.in_flight", flights, ConcurrentMap::size)
+        .description("Distinct computations currently in flight")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Join or start an asynchronous computation for the given key.
+   *
+   * @param stage pipeline stage, used as metric tag (e.g. "embedding")
+   * @param key identity of the work within the stage
+   * @param loader starts the computation; only invoked by the leader
+   * @param <T> the result type
+   * @return a future private to this caller, completed with the shared result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> submit(String stage, String key,
+                                         Supplier<CompletableFuture<T>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    FlightKey flightKey = new FlightKey(stage, key);
+    while (true) {
+      Flight<T> existing = (Flight<T>) flights.get(flightKey);
+      if (existing != null) {
+        CompletableFuture<T> waiter = existing.join();
+        if (waiter != null) {
+          counter("rag.coalescer.saved", stage).increment();
+          return waiter;
+        }
+        // Flight finished or was abandoned between lookup and join; start over
+        flights.remove(flightKey, existing);
+        continue;
+      }
+
+      Flight<T> created = new Flight<>(flightKey);
+      if (flights.putIfAbsent(flightKey, created) != null) {
+        continue;
+      }
+
+      counter("rag.coalescer.executed", stage).increment();
+      CompletableFuture<T> source;
+      try {
+        source = loader.get();
+      } catch (RuntimeException e) {
+        source = CompletableFuture.failedFuture(e);
+      }
+
+      // Join before attaching, so a source that is already done still completes this waiter
+      CompletableFuture<T> waiter = created.join();
+      created.attach(source);
+      return waiter;
+    }
+  }
+
+  /**
+   * Join or run a synchronous computation for the given key.
+   * The leader runs the loader on the calling thread; followers block until it completes.
+   *
+   * <p>The leader's work runs to completion: it cannot be cancelled or timed out through the
+   * coalescer, and followers wait for as long as it takes. Loaders should bound their own
+   * work (e.g. with client timeouts), and followers can bound their wait with
+   * {@link #execute(String, String, Supplier, Duration)}.
+   *
+   * @param stage pipeline stage, used as metric tag
+   * @param key identity of the work within the stage
+   * @param loader the computation; only invoked by the leader
+   * @param <T> the result type
+   * @return the shared result
+   * @throws ServiceException if the wait is interrupted or the leader failed with a checked error
+   */
+  public <T> T execute(String stage, String key, Supplier<T> loader) {
+    return execute(stage, key, loader, null);
+  }
+
+  /**
+   * Join or run a synchronous computation, waiting at most {@code timeout} for another
+   * caller's computation. A follower that times out leaves the flight; the leader and the
+   * other followers are unaffected. The leader itself is not timed out.
+   *
+   * @param stage pipeline stage, used as metric tag
+   * @param key identity of the work within the stage
+   * @param loader the computation; only invoked by the leader
+   * @param timeout longest wait for a follower, or null to wait indefinitely
+   * @param <T> the result type
+   * @return the shared result
+   * @throws ServiceException if the wait times out or is interrupted, or the leader failed with
+   *     a checked error
+   */
+  public <T> T execute(String stage, String key, Supplier<T> loader, Duration timeout) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    CompletableFuture<T> promise = new CompletableFuture<>();
+    boolean[] leader = {false};
+    CompletableFuture<T> waiter = submit(stage, key, () -> {
+      leader[0] = true;
+      return promise;
+    });
+
+    if (leader[0]) {
+      try {
+        promise.complete(loader.get());
+      } catch (RuntimeException e) {
+        promise.completeExceptionally(e);
+        throw e;
+      }
+    }
+    return await(stage, waiter, leader[0] ? null : timeout);
+  }
+
+  private <T> T await(String stage, CompletableFuture<T> waiter, Duration timeout) {
+    try {
+      return timeout == null
+          ? waiter.get()
+          : waiter.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      waiter.cancel(true);
+      throw new ServiceException("Timed out after " + timeout + " waiting for " + stage, e);
+    } catch (InterruptedException e) {
+      waiter.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceException("Interrupted while waiting for " + stage, e);
+    } catch (CancellationException e) {
+      throw new ServiceException(stage + " was cancelled", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new ServiceException(stage + " failed", e.getCause());
+    }
+  }
+
+  private Counter counter(String name, String stage) {
+    return Counter.builder(name)
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private record FlightKey(String stage, String key) {
+  }
+
+  /**
+   * One in-flight computation and the callers waiting on it.
+   */
+  private final class Flight<T> {
+
+    private final FlightKey key;
+    private final List<CompletableFuture<T>> waiters = new ArrayList<>();
+    private CompletableFuture<T> source;
+    private boolean closed;
+
+    private Flight(FlightKey key) {
+      this.key = key;
+    }
+
+    /**
+     * Register a new waiter, or return null if the flight no longer accepts waiters.
+     */
+    private synchronized CompletableFuture<T> join() {
+      if (closed) {
+        return null;
+      }
+      CompletableFuture<T> waiter = new CompletableFuture<>();
+      waiters.add(waiter);
+      waiter.whenComplete((value, error) -> {
+        if (waiter.isCancelled()) {
+          leave(waiter);
+        }
+      });
+      return waiter;
+    }
+
+    private void attach(CompletableFuture<T> future) {
+      boolean abandoned;
+      synchronized (this) {
+        source = future;
+        abandoned = closed && waiters.isEmpty();
+      }
+      if (abandoned) {
+        future.cancel(true);
+        return;
+      }
+      future.whenComplete(this::finish);
+    }
+
+    private void leave(CompletableFuture<T> waiter) {
+      CompletableFuture<T> toCancel;
+      synchronized (this) {
+        if (!waiters.remove(waiter) || !waiters.isEmpty() || closed) {
+          return;
+        }
+        closed = true;
+        toCancel = source;
+      }
+      flights.remove(key, this);
+      counter("rag.coalescer.abandoned", key.stage()).increment();
+      log.debug("All waiters left {} flight, cancelling", key.stage());
+      if (toCancel != null) {
+        toCancel.cancel(true);
+      }
+    }
+
+    private void finish(T value, Throwable error) {
+      List<CompletableFuture<T>> snapshot;
+      synchronized (this) {
+        closed = true;
+        snapshot = new ArrayList<>(waiters);
+        waiters.clear();
+      }
+      flights.remove(key, this);
+
+      Throwable cause = error instanceof CompletionException && error.getCause() != null
+          ? error.getCause()
+          : error;
+      for (CompletableFuture<T> waiter : snapshot) {
+        if (cause == null) {
+          waiter.complete(value);
+        } else if (cause instanceof CancellationException) {
+          waiter.cancel(false);
+        } else {
+          waiter.completeExceptionally(cause);
+        }
+      }
+    }
+  }
+}
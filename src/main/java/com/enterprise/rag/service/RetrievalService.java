@@ -0,0 +1,166 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.domain.DocumentChunk;
+import com.enterprise.rag.domain.VectorType;
+import com.enterprise.rag.dto.RetrievedChunk;
+import com.enterprise.rag.repository.DocumentChunkRepository;
+import com.enterprise.rag.repository.EmbeddingRepository;
+import com.enterprise.rag.util.ValidationUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for query embedding and vector retrieval of document chunks.
+ * Results are cached in {@link QueryResultCache}; identical concurrent misses share one
+ * computation through {@link RequestCoalescer}.
+ * Search casts the query vector to the configured embedding storage type.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RetrievalService {
+
+  /**
+   * Dimensionality of the {@code rag.embeddings.embedding} column.
+   */
+  public static final int EMBEDDING_DIMENSIONS = 1536;
+
+  /**
+   * Embeddings stored as 4-byte floats.
+   */
+  public static final String STORAGE_VECTOR = "vector";
+
+  /**
+   * Embeddings stored as 2-byte floats, halving table and index size.
+   */
+  public static final String STORAGE_HALFVEC = "halfvec";
+
+  private final EmbeddingRepository embeddingRepository;
+  private final DocumentChunkRepository documentChunkRepository;
+  private final RequestCoalescer requestCoalescer;
+  private final QueryResultCache queryResultCache;
+  private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+  @Value("${app.rag.embedding-model:text-embedding-ada-002}")
+  private String embeddingModel;
+
+  @Value("${app.rag.embedding-storage:vector}")
+  private String embeddingStorage;
+
+  @PostConstruct
+  void validateStorage() {
+    if (!STORAGE_VECTOR.equals(embeddingStorage) && !STORAGE_HALFVEC.equals(embeddingStorage)) {
+      throw new IllegalStateException("app.rag.embedding-storage must be '" + STORAGE_VECTOR
+          + "' or '" + STORAGE_HALFVEC + "', was '" + embeddingStorage + "'");
+    }
+  }
+
+  /**
+   * Compute the embedding vector for a query.
+   * The returned array is shared between coalesced callers and must not be modified.
+   *
+   * @param query the user query
+   * @return embedding vector of {@link #EMBEDDING_DIMENSIONS} floats
+   */
+  public float[] embedQuery(String query) {
+    ValidationUtils.requireNonEmpty(query, "query");
+    String text = query.strip();
+    String key = embeddingModel + ":" + text;
+    return queryResultCache.get(QueryResultCache.EMBEDDINGS, key, float[].class,
+        () -> requestCoalescer.execute("embedding", key, () -> computeEmbedding(text)));
+  }
+
+  /**
+   * Retrieve the chunks most similar to a query.
+   *
+   * @param query the user query
+   * @param topK maximum number of chunks to return
+   * @return chunks ordered by descending similarity (unmodifiable)
+   */
+  public List<RetrievedChunk> retrieve(String query, int topK) {
+    ValidationUtils.requireNonEmpty(query, "query");
+    ValidationUtils.requirePositive(topK, "topK");
+    String text = query.strip();
+    String key = embeddingModel + ":" + topK + ":" + text;
+    List<?> chunks = queryResultCache.get(QueryResultCache.RETRIEVAL, key, List.class,
+        () -> requestCoalescer.execute("retrieval", key, () -> search(embedQuery(text), topK)));
+    @SuppressWarnings("unchecked")
+    List<RetrievedChunk> results = (List<RetrievedChunk>) chunks;
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Generate a deterministic embedding for the text.
+   * Mirrors the llm-mock embeddings endpoint; in production this calls the embeddings API.
+   */
+  private float[] computeEmbedding(String text) {
+    int seed = text.hashCode();
+    float[] vector = new float[EMBEDDING_DIMENSIONS];
+    for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
+      vector[i] = Math.floorMod(seed + i * 13, 1000) / 1000.0f - 0.5f;
+    }
+    return vector;
+  }
+
+  /**
+   * Run the similarity search. Returns a plain {@link ArrayList}, the form the result is cached in.
+   */
+  private List<RetrievedChunk> search(float[] queryVector, int topK) {
+    List<Object[]> rows = concurrencyLimiterRegistry.limiter(ConcurrencyLimiterRegistry.RETRIEVAL)
+        .execute(() -> STORAGE_HALFVEC.equals(embeddingStorage)
+            ? embeddingRepository.findSimilarEmbeddingsCosineHalf(
+                toVectorLiteral(queryVector), embeddingModel, topK)
+            : embeddingRepository.findSimilarEmbeddingsCosine(
+                toVectorLiteral(queryVector), embeddingModel, topK));
+    if (rows.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // Columns: id, chunk_id, embedding, model_name, created_at, similarity
+    Map<UUID, Double> scores = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      scores.put((UUID) row[1], ((Number) row[5]).doubleValue());
+    }
+
+    Map<UUID, DocumentChunk> chunks = documentChunkRepository.findAllById(scores.keySet()).stream()
+        .collect(Collectors.toMap(DocumentChunk::getId, Function.identity()));
+
+    List<RetrievedChunk> results = new ArrayList<>(scores.size());
+    scores.forEach((chunkId, score) -> {
+      DocumentChunk chunk = chunks.get(chunkId);
+      if (chunk != null) {
+        results.add(RetrievedChunk.builder()
+            .chunkId(chunkId)
+            .documentId(chunk.getDocument().getId())
+            .chunkIndex(chunk.getChunkIndex())
+            .content(chunk.getContent())
+            .tokenCount(chunk.getTokenCount())
+            .createdAt(chunk.getCreatedAt())
+            .score(score)
+            .build());
+      }
+    });
+
+    log.debug("Retrieved {} chunks (top {})", results.size(), topK);
+    return results;
+  }
+
+  /**
+   * Format a vector as a pgvector literal, e.g. {@code [0.1,0.2]}.
+   */
+  static String toVectorLiteral(float[] vector) {
+    return VectorType.toLiteral(vector);
+  }
+}
@@ -0,0 +1,153 @@
+package com.enterprise.rag.service;
+
+import com.enterprise.rag.config.AgentProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of deterministic tool results keyed by tool name and a canonical hash of the inputs.
+ *
+ * <p>Only tools with a TTL under {@code app.agent.tool-cache.ttl} are cached. Inputs are
+ * serialized with map keys sorted, so logically equal parameter maps hash identically
+ * regardless of insertion order. Dependency outputs are part of the key because they are part
+ * of what the tool sees. Outputs are stored as deep unmodifiable copies, so neither the tool
+ * that produced a result nor the callers it is served to can change what later hits see.
+ */
+@Component
+@Slf4j
+public class ToolResultCache {
+
+  private final AgentProperties.ToolCache settings;
+  private final ObjectMapper canonicalMapper;
+  private final Cache<String, Entry> cache;
+
+  public ToolResultCache(AgentProperties agentProperties, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+    this.settings = agentProperties.getToolCache();
+    this.canonicalMapper = objectMapper.copy()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(settings.getMaxEntries())
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "tool.results");
+  }
+
+  /**
+   * Check whether results of a tool may be cached.
+   *
+   * @param toolName the tool name
+   * @return true if the tool has a cache TTL configured
+   */
+  public boolean isCacheable(String toolName) {
+    return settings.isEnabled() && settings.getTtl().containsKey(toolName);
+  }
+
+  /**
+   * Look up a cached result.
+   *
+   * @param toolName the tool name
+   * @param inputParams the call's input parameters
+   * @param dependencyOutputs outputs of the call's dependencies
+   * @return the cached output, unmodifiable, if present and not expired
+   */
+  public Optional<Map<String, Object>> get(String toolName, Map<String, Object> inputParams,
+                                           Map<String, Map<String, Object>> dependencyOutputs) {
+    if (!isCacheable(toolName)) {
+      return Optional.empty();
+    }
+    String key = key(toolName, inputParams, dependencyOutputs);
+    if (key == null) {
+      return Optional.empty();
+    }
+    Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+      cache.invalidate(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry.output());
+  }
+
+  /**
+   * Store a successful result if the tool is cacheable.
+   *
+   * @param toolName the tool name
+   * @param inputParams the call's input parameters
+   * @param dependencyOutputs outputs of the call's dependencies
+   * @param output the tool output
+   */
+  public void put(String toolName, Map<String, Object> inputParams,
+                  Map<String, Map<String, Object>> dependencyOutputs, Map<String, Object> output) {
+    if (!isCacheable(toolName) || output == null) {
+      return;
+    }
+    String key = key(toolName, inputParams, dependencyOutputs);
+    if (key != null) {
+      Duration ttl = settings.getTtl().get(toolName);
+      cache.put(key, new Entry(unmodifiableCopy(output), System.nanoTime() + ttl.toNanos()));
+    }
+  }
+
+  /**
+   * Build the cache key, or null if the inputs cannot be serialized canonically.
+   */
+  private String key(String toolName, Map<String, Object> inputParams,
+                     Map<String, Map<String, Object>> dependencyOutputs) {
+    Map<String, Object> keyed = new LinkedHashMap<>();
+    keyed.put("input", inputParams);
+    keyed.put("dependencies", dependencyOutputs);
+    try {
+      byte[] canonical = canonicalMapper.writeValueAsBytes(keyed);
+      return toolName + ":" + Hashing.sha256().hashBytes(canonical);
+    } catch (JsonProcessingException e) {
+      log.warn("Inputs of tool {} are not serializable, skipping cache: {}",
+          toolName, e.getMessage());
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T unmodifiableCopy(T value) {
+    if (value instanceof Map<?, ?> map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      map.forEach((k, v) -> copy.put(k, unmodifiableCopy(v)));
+      return (T) Collections.unmodifiableMap(copy);
+    }
+    if (value instanceof Set<?> set) {
+      Set<Object> copy = new LinkedHashSet<>();
+      set.forEach(element -> copy.add(unmodifiableCopy(element)));
+      return (T) Collections.unmodifiableSet(copy);
+    }
+    if (value instanceof Collection<?> collection) {
+      List<Object> copy = new ArrayList<>(collection.size());
+      collection.forEach(element -> copy.add(unmodifiableCopy(element)));
+      return (T) Collections.unmodifiableList(copy);
+    }
+    return value;
+  }
+
+  private record Entry(Map<String, Object> output, long expiresAtNanos) {
+  }
+}
@@ -0,0 +1,69 @@
+package com.enterprise.rag.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utility class for opaque keyset pagination cursors.
+ * A cursor encodes the (sort timestamp, id) of the last row of a page; clients pass it back
+ * unchanged to fetch the next page.
+ *
+ * REQ-PAGE-001: Cursor tokens are opaque to clients and rejected with a clear error if invalid.
+ */
+public final class CursorCodec {
+
+  private static final String VERSION = "v1";
+  private static final String SEPARATOR = "|";
+
+  private CursorCodec() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /**
+   * Encode a keyset position as a cursor token.
+   *
+   * @param timestamp sort timestamp of the last row returned
+   * @param id ID of the last row returned
+   * @return URL-safe cursor token
+   */
+  public static String encode(LocalDateTime timestamp, UUID id) {
+    ValidationUtils.requireNonNull(timestamp, "timestamp");
+    ValidationUtils.requireNonNull(id, "id");
+    String raw = VERSION + SEPARATOR + timestamp + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor token.
+   *
+   * @param cursor the cursor token
+   * @return the keyset position
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static Position decode(String cursor) {
+    ValidationUtils.requireNonEmpty(cursor, "cursor");
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR);
+      if (parts.length != 3 || !VERSION.equals(parts[0])) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new Position(LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * A keyset position: the sort timestamp and ID of the last row of a page.
+   *
+   * @param timestamp sort timestamp
+   * @param id row ID, the tie-breaker for equal timestamps
+   */
+  public record Position(LocalDateTime timestamp, UUID id) {
+  }
+}
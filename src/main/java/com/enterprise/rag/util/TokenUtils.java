@@ -0,0 +1,33 @@
+package com.enterprise.rag.util;
+
+/**
+ * Utility class for token count estimation.
+ * REQ-TOKEN-001: Token estimates must be consistent wherever prompt or message size is computed.
+ */
+public final class TokenUtils {
+
+  /**
+   * Rough approximation: 1 token ≈ 0.75 words.
+   */
+  private static final double TOKENS_PER_WORD = 1.3;
+
+  private TokenUtils() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /**
+   * Estimate the token count of one or more texts.
+   *
+   * @param texts texts to measure (null entries are ignored)
+   * @return estimated token count
+   */
+  public static int estimateTokens(String... texts) {
+    int totalWords = 0;
+    for (String text : texts) {
+      if (text != null) {
+        totalWords += text.split("\\s+").length;
+      }
+    }
+    return (int) (totalWords * TOKENS_PER_WORD);
+  }
+}
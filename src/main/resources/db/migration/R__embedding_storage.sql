@@ -0,0 +1,35 @@
+-- Storage type of rag.embeddings.embedding, set by app.rag.embedding-storage through the
+-- Flyway placeholder embedding_storage: 'vector' (4-byte floats) or 'halfvec' (2-byte floats,
+-- roughly half the table and HNSW index size).
+--
+-- Repeatable: Flyway checksums this script after placeholder replacement, so changing the
+-- setting re-runs it and the column and its HNSW indexes are converted in place. Converting
+-- rewrites the table and rebuilds the indexes; schedule it like any other table rewrite.
+DO $$
+DECLARE
+  target TEXT := '${embedding_storage}';
+  current_type TEXT;
+BEGIN
+  IF target NOT IN ('vector', 'halfvec') THEN
+    RAISE EXCEPTION 'Unsupported embedding storage: %', target;
+  END IF;
+
+  SELECT format_type(a.atttypid, a.atttypmod) INTO current_type
+  FROM pg_attribute a
+  WHERE a.attrelid = 'rag.embeddings'::regclass AND a.attname = 'embedding';
+
+  IF split_part(current_type, '(', 1) = target THEN
+    RETURN;
+  END IF;
+
+  DROP INDEX IF EXISTS rag.idx_embeddings_vector_cosine;
+  DROP INDEX IF EXISTS rag.idx_embeddings_vector_l2;
+  EXECUTE format('ALTER TABLE rag.embeddings ALTER COLUMN embedding TYPE %1$s(1536) '
+                 'USING embedding::%1$s(1536)', target);
+  EXECUTE format('CREATE INDEX idx_embeddings_vector_cosine ON rag.embeddings '
+                 'USING hnsw (embedding %s_cosine_ops)', target);
+  EXECUTE format('CREATE INDEX idx_embeddings_vector_l2 ON rag.embeddings '
+                 'USING hnsw (embedding %s_l2_ops)', target);
+  RAISE NOTICE 'Converted rag.embeddings.embedding from % to %(1536)', current_type, target;
+END
+$$;
@@ -0,0 +1,53 @@
+-- DEFAULT partitions for the monthly partitioned tables.
+--
+-- Without one, a row whose time column falls outside every monthly partition (a backdated or
+-- far-future timestamp, or maintenance that has not run) fails its insert. Such rows now land
+-- in <table>_default; PartitionMaintenanceService reports them through
+-- rag.partitions.default.rows and a warning.
+--
+-- Postgres refuses to create a range partition while the default partition holds rows in that
+-- range, so rag.create_monthly_partitions now builds each new partition as a plain table,
+-- moves the month's rows out of the default partition into it and attaches it.
+
+CREATE TABLE IF NOT EXISTS rag.messages_default PARTITION OF rag.messages DEFAULT;
+CREATE TABLE IF NOT EXISTS rag.agent_executions_default PARTITION OF rag.agent_executions DEFAULT;
+CREATE TABLE IF NOT EXISTS rag.tool_invocations_default PARTITION OF rag.tool_invocations DEFAULT;
+
+CREATE OR REPLACE FUNCTION rag.create_monthly_partitions(parent TEXT, from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  month_start DATE := date_trunc('month', from_month)::DATE;
+  month_end DATE;
+  partition_name TEXT;
+  default_name TEXT := parent || '_default';
+  key_column TEXT;
+  created INTEGER := 0;
+BEGIN
+  SELECT a.attname INTO key_column
+  FROM pg_partitioned_table pt
+  JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]
+  WHERE pt.partrelid = ('rag.' || parent)::regclass;
+
+  WHILE month_start <= to_month LOOP
+    month_end := (month_start + INTERVAL '1 month')::DATE;
+    partition_name := parent || '_p' || to_char(month_start, 'YYYY_MM');
+    IF to_regclass('rag.' || partition_name) IS NULL THEN
+      EXECUTE format('CREATE TABLE rag.%I (LIKE rag.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                     partition_name, parent);
+      IF to_regclass('rag.' || default_name) IS NOT NULL THEN
+        EXECUTE format('WITH moved AS (DELETE FROM rag.%I WHERE %I >= %L AND %I < %L RETURNING *) '
+                       'INSERT INTO rag.%I SELECT * FROM moved',
+                       default_name, key_column, month_start, key_column, month_end,
+                       partition_name);
+      END IF;
+      EXECUTE format('ALTER TABLE rag.%I ATTACH PARTITION rag.%I FOR VALUES FROM (%L) TO (%L)',
+                     parent, partition_name, month_start, month_end);
+      created := created + 1;
+    END IF;
+    month_start := month_end;
+  END LOOP;
+  RETURN created;
+END
+$$;
@@ -0,0 +1,4 @@
+-- Record whether a tool invocation was served from the tool result cache.
+-- The base schema comes from docker/init-scripts/01-init.sql and is baselined as V1.
+ALTER TABLE rag.tool_invocations
+  ADD COLUMN IF NOT EXISTS cache_hit BOOLEAN NOT NULL DEFAULT FALSE;
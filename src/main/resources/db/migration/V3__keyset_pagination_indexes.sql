@@ -0,0 +1,15 @@
+-- Composite indexes backing keyset (cursor) pagination.
+-- Each matches the filter column plus the (sort key, id) order of its page query, so a page
+-- is one index range scan no matter how deep the cursor is.
+CREATE INDEX IF NOT EXISTS idx_conversations_user_created_id
+  ON rag.conversations (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_timestamp_id
+  ON rag.messages (conversation_id, timestamp, id);
+
+CREATE INDEX IF NOT EXISTS idx_agent_executions_type_started_id
+  ON rag.agent_executions (agent_type, started_at DESC, id DESC);
+
+-- The composites lead with the same columns, so the single-column indexes are redundant.
+DROP INDEX IF EXISTS rag.idx_conversations_user_id;
+DROP INDEX IF EXISTS rag.idx_messages_conversation_id;
@@ -0,0 +1,21 @@
+-- Denormalized message counters on conversations, maintained by atomic increments whenever
+-- a message is written, so metadata and listings never count or hydrate messages.
+ALTER TABLE rag.conversations
+  ADD COLUMN IF NOT EXISTS message_count INTEGER NOT NULL DEFAULT 0,
+  ADD COLUMN IF NOT EXISTS total_tokens BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN IF NOT EXISTS last_message_at TIMESTAMP;
+
+-- Backfill from existing messages
+UPDATE rag.conversations c
+SET message_count = s.message_count,
+    total_tokens = s.total_tokens,
+    last_message_at = s.last_message_at
+FROM (
+  SELECT conversation_id,
+         COUNT(*) AS message_count,
+         COALESCE(SUM(token_count), 0) AS total_tokens,
+         MAX(timestamp) AS last_message_at
+  FROM rag.messages
+  GROUP BY conversation_id
+) s
+WHERE c.id = s.conversation_id;
@@ -0,0 +1,26 @@
+-- Time-ordered UUIDv7 keys for write-heavy tables.
+-- The application generates UUIDv7 IDs for messages, embeddings and tool invocations; this
+-- function gives rows inserted directly in SQL the same ordering. Existing random (v4) IDs
+-- stay valid: the column type is unchanged and new keys simply append to the right of the
+-- index. Run REINDEX on the primary keys during a quiet period to compact pages split by v4
+-- inserts.
+CREATE OR REPLACE FUNCTION rag.uuid_generate_v7()
+RETURNS uuid
+LANGUAGE plpgsql
+VOLATILE
+AS $$
+DECLARE
+  uuid_bytes bytea;
+BEGIN
+  -- 48-bit millisecond timestamp followed by the random tail of a v4 UUID
+  uuid_bytes := substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+    || substring(uuid_send(gen_random_uuid()) FROM 7);
+  -- Replace the version nibble with 7; the variant bits come from the v4 UUID
+  uuid_bytes := set_byte(uuid_bytes, 6, (b'0111' || get_byte(uuid_bytes, 6)::bit(4))::bit(8)::int);
+  RETURN encode(uuid_bytes, 'hex')::uuid;
+END
+$$;
+
+ALTER TABLE rag.messages ALTER COLUMN id SET DEFAULT rag.uuid_generate_v7();
+ALTER TABLE rag.embeddings ALTER COLUMN id SET DEFAULT rag.uuid_generate_v7();
+ALTER TABLE rag.tool_invocations ALTER COLUMN id SET DEFAULT rag.uuid_generate_v7();
@@ -0,0 +1,126 @@
+-- Monthly range partitioning for messages, agent_executions and tool_invocations.
+--
+-- Time-bounded queries prune to the partitions they touch, and retention drops whole
+-- partitions instead of deleting rows. Partitions are named <table>_pYYYY_MM and are created
+-- ahead of time by rag.ensure_monthly_partitions, called at startup and daily by
+-- PartitionMaintenanceService.
+--
+-- Postgres requires the partition key in every unique constraint, so primary keys become
+-- (id, <time column>). For the same reason tool_invocations.execution_id can no longer be a
+-- foreign key to agent_executions; executions and their invocations are written together by
+-- AgentTelemetryWriter and age out under the same retention.
+
+-- Create the monthly partitions of a table covering [from_month, to_month]
+CREATE OR REPLACE FUNCTION rag.create_monthly_partitions(parent TEXT, from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  month_start DATE := date_trunc('month', from_month)::DATE;
+  partition_name TEXT;
+  created INTEGER := 0;
+BEGIN
+  WHILE month_start <= to_month LOOP
+    partition_name := parent || '_p' || to_char(month_start, 'YYYY_MM');
+    IF to_regclass('rag.' || partition_name) IS NULL THEN
+      EXECUTE format('CREATE TABLE rag.%I PARTITION OF rag.%I FOR VALUES FROM (%L) TO (%L)',
+                     partition_name, parent, month_start, (month_start + INTERVAL '1 month')::DATE);
+      created := created + 1;
+    END IF;
+    month_start := (month_start + INTERVAL '1 month')::DATE;
+  END LOOP;
+  RETURN created;
+END
+$$;
+
+-- Make sure partitions exist from the current month through months_ahead months from now
+CREATE OR REPLACE FUNCTION rag.ensure_monthly_partitions(parent TEXT, months_ahead INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  RETURN rag.create_monthly_partitions(
+      parent,
+      CURRENT_DATE,
+      (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::DATE);
+END
+$$;
+
+-- Drop the partitions of a table whose whole month lies before the cutoff
+CREATE OR REPLACE FUNCTION rag.drop_monthly_partitions_before(parent TEXT, cutoff DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  child RECORD;
+  month_start DATE;
+  dropped INTEGER := 0;
+BEGIN
+  FOR child IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    JOIN pg_namespace n ON n.oid = p.relnamespace
+    WHERE n.nspname = 'rag' AND p.relname = parent
+      AND c.relname ~ ('^' || parent || '_p[0-9]{4}_[0-9]{2}$')
+  LOOP
+    month_start := to_date(right(child.relname, 7), 'YYYY_MM');
+    IF month_start + INTERVAL '1 month' <= cutoff THEN
+      EXECUTE format('DROP TABLE rag.%I', child.relname);
+      dropped := dropped + 1;
+    END IF;
+  END LOOP;
+  RETURN dropped;
+END
+$$;
+
+ALTER TABLE rag.tool_invocations DROP CONSTRAINT IF EXISTS tool_invocations_execution_id_fkey;
+
+-- messages, partitioned by timestamp
+ALTER TABLE rag.messages RENAME TO messages_unpartitioned;
+CREATE TABLE rag.messages (
+  LIKE rag.messages_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+) PARTITION BY RANGE (timestamp);
+SELECT rag.create_monthly_partitions('messages',
+    COALESCE((SELECT MIN(timestamp) FROM rag.messages_unpartitioned)::DATE, CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+INSERT INTO rag.messages SELECT * FROM rag.messages_unpartitioned;
+DROP TABLE rag.messages_unpartitioned;
+ALTER TABLE rag.messages ADD PRIMARY KEY (id, timestamp);
+ALTER TABLE rag.messages ADD CONSTRAINT messages_conversation_id_fkey
+  FOREIGN KEY (conversation_id) REFERENCES rag.conversations (id) ON DELETE CASCADE;
+CREATE INDEX idx_messages_timestamp ON rag.messages (timestamp DESC);
+CREATE INDEX idx_messages_conversation_timestamp_id ON rag.messages (conversation_id, timestamp, id);
+
+-- agent_executions, partitioned by started_at
+ALTER TABLE rag.agent_executions RENAME TO agent_executions_unpartitioned;
+CREATE TABLE rag.agent_executions (
+  LIKE rag.agent_executions_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+) PARTITION BY RANGE (started_at);
+SELECT rag.create_monthly_partitions('agent_executions',
+    COALESCE((SELECT MIN(started_at) FROM rag.agent_executions_unpartitioned)::DATE, CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+INSERT INTO rag.agent_executions SELECT * FROM rag.agent_executions_unpartitioned;
+DROP TABLE rag.agent_executions_unpartitioned;
+ALTER TABLE rag.agent_executions ADD PRIMARY KEY (id, started_at);
+ALTER TABLE rag.agent_executions ADD CONSTRAINT agent_executions_conversation_id_fkey
+  FOREIGN KEY (conversation_id) REFERENCES rag.conversations (id) ON DELETE SET NULL;
+CREATE INDEX idx_agent_executions_conversation_id ON rag.agent_executions (conversation_id);
+CREATE INDEX idx_agent_executions_started_at ON rag.agent_executions (started_at DESC);
+CREATE INDEX idx_agent_executions_type_started_id
+  ON rag.agent_executions (agent_type, started_at DESC, id DESC);
+
+-- tool_invocations, partitioned by started_at
+ALTER TABLE rag.tool_invocations RENAME TO tool_invocations_unpartitioned;
+CREATE TABLE rag.tool_invocations (
+  LIKE rag.tool_invocations_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+) PARTITION BY RANGE (started_at);
+SELECT rag.create_monthly_partitions('tool_invocations',
+    COALESCE((SELECT MIN(started_at) FROM rag.tool_invocations_unpartitioned)::DATE, CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+INSERT INTO rag.tool_invocations SELECT * FROM rag.tool_invocations_unpartitioned;
+DROP TABLE rag.tool_invocations_unpartitioned;
+ALTER TABLE rag.tool_invocations ADD PRIMARY KEY (id, started_at);
+CREATE INDEX idx_tool_invocations_execution_id ON rag.tool_invocations (execution_id);
+CREATE INDEX idx_tool_invocations_tool_started ON rag.tool_invocations (tool_name, started_at DESC);
@@ -0,0 +1,20 @@
+-- Periodic latency rollups of agent executions and tool invocations.
+-- Each row holds one instance's compressed HdrHistogram for one interval, so rollups from any
+-- set of instances and intervals can be merged into exact-bucket percentiles.
+CREATE TABLE IF NOT EXISTS rag.latency_rollups (
+  subject_type VARCHAR(20) NOT NULL,
+  subject_name VARCHAR(100) NOT NULL,
+  bucket_start TIMESTAMP NOT NULL,
+  instance_id VARCHAR(64) NOT NULL,
+  bucket_seconds INTEGER NOT NULL,
+  sample_count BIGINT NOT NULL,
+  mean_ms DOUBLE PRECISION NOT NULL,
+  p50_ms BIGINT NOT NULL,
+  p95_ms BIGINT NOT NULL,
+  p99_ms BIGINT NOT NULL,
+  max_ms BIGINT NOT NULL,
+  histogram BYTEA NOT NULL,
+  PRIMARY KEY (subject_type, subject_name, bucket_start, instance_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_latency_rollups_bucket_start ON rag.latency_rollups (bucket_start);
@@ -0,0 +1,7 @@
+-- GIN indexes for jsonb containment filters (metadata @> '{...}') on documents and chunks.
+-- jsonb_path_ops only supports @>, but is smaller and faster for it than the default opclass.
+CREATE INDEX IF NOT EXISTS idx_documents_metadata
+  ON rag.documents USING gin (metadata jsonb_path_ops);
+
+CREATE INDEX IF NOT EXISTS idx_document_chunks_metadata
+  ON rag.document_chunks USING gin (metadata jsonb_path_ops);
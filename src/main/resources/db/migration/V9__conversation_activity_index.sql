@@ -0,0 +1,4 @@
+-- Backs age-based purges, which select conversations by last activity
+-- (ConversationRepository.lockPurgeBatchInactiveBefore).
+CREATE INDEX IF NOT EXISTS idx_conversations_last_activity
+  ON rag.conversations ((COALESCE(last_message_at, created_at)));